@@ -0,0 +1,57 @@
+package game.bench;
+
+import game.component.GameWorld;
+import game.component.Key;
+import game.obj.AssetRegistry;
+import game.obj.sound.Sound;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * The BenchmarkWorlds class creates the scenes the benchmarks measure. Entities are placed at random
+ * from a seeded generator, so every run measures the same scene.
+ */
+final class BenchmarkWorlds {
+
+    static final int WIDTH = 1366;
+    static final int HEIGHT = 768;
+
+    private BenchmarkWorlds() {
+    }
+
+    /**
+     * Creates a silent world with bullets and rockets placed at random.
+     *
+     * @param bulletCount The number of bullets.
+     * @param rocketCount The number of rockets.
+     * @param random      The generator placing the entities.
+     * @return The world, with all changes applied.
+     */
+    static GameWorld create(int bulletCount, int rocketCount, Random random) {
+        AssetRegistry.loadAll();
+        GameWorld world = new GameWorld(WIDTH, HEIGHT, new Key(), new Sound(false));
+        for (int i = 0; i < bulletCount; i++) {
+            world.getBullets().add(random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextInt(360), 5, 0);
+        }
+        for (int i = 0; i < rocketCount; i++) {
+            world.spawnRocket(random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextInt(360));
+        }
+        world.applyChanges();
+        return world;
+    }
+
+    /**
+     * Creates the graphics of an offscreen frame with the full quality rendering hints.
+     *
+     * @param image The frame image.
+     * @return The graphics of the image.
+     */
+    static Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        return g2;
+    }
+}
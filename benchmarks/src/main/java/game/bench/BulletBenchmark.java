@@ -0,0 +1,41 @@
+package game.bench;
+
+import game.obj.BulletBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures moving every bullet of the bullet buffer by one tick. The bullets are slow enough to stay on
+ * the screen for the whole run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BulletBenchmark {
+
+    @Param({"10000"})
+    public int bulletCount;
+
+    private BulletBuffer bullets;
+
+    @Setup(Level.Trial)
+    public void createBullets() {
+        bullets = new BulletBuffer();
+        Random random = new Random(42);
+        for (int i = 0; i < bulletCount; i++) {
+            bullets.add(random.nextInt(BenchmarkWorlds.WIDTH), random.nextInt(BenchmarkWorlds.HEIGHT),
+                    random.nextInt(360), 5, 0.001f);
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        bullets.update(BenchmarkWorlds.WIDTH, BenchmarkWorlds.HEIGHT);
+        return bullets.size();
+    }
+}
@@ -0,0 +1,65 @@
+package game.bench;
+
+import game.component.GameWorld;
+import game.obj.BulletBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the collision phase (checkBullets for every bullet, then checkPlayer) with bullets and rockets
+ * spread over the screen, on the simulation thread or in parallel. What an operation destroyed is refilled
+ * before the next one, outside of the timing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+
+    @Param({"100x100", "500x200", "2000x500", "10000x2000"})
+    public String scene; // Bullets x rockets
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private int bulletCount;
+    private int rocketCount;
+    private Random random;
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        String[] counts = scene.split("x");
+        bulletCount = Integer.parseInt(counts[0]);
+        rocketCount = Integer.parseInt(counts[1]);
+        random = new Random(42);
+        world = BenchmarkWorlds.create(bulletCount, rocketCount, random);
+        world.setParallelCollisionBullets(parallel ? 1 : 0);
+    }
+
+    @Setup(Level.Invocation)
+    public void refill() {
+        BulletBuffer bullets = world.getBullets();
+        while (bullets.size() < bulletCount) {
+            bullets.add(random.nextInt(BenchmarkWorlds.WIDTH), random.nextInt(BenchmarkWorlds.HEIGHT),
+                    random.nextInt(360), 5, 0);
+        }
+        world.applyChanges(); // Remove the rockets destroyed by the previous operation
+        for (int i = world.getRockets().size(); i < rocketCount; i++) {
+            world.spawnRocket(random.nextInt(BenchmarkWorlds.WIDTH), random.nextInt(BenchmarkWorlds.HEIGHT),
+                    random.nextInt(360));
+        }
+        world.getParticles().clear();
+        world.applyChanges();
+    }
+
+    @Benchmark
+    public int checkCollisions() {
+        world.checkCollisions();
+        return world.getScore();
+    }
+}
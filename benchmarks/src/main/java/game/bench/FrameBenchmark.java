@@ -0,0 +1,63 @@
+package game.bench;
+
+import game.component.GameWorld;
+import game.component.WorldSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing a full frame (background, entities and score) into an offscreen image, and the per-tick
+ * cost of copying the same entities into a render snapshot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FrameBenchmark {
+
+    @Param({"500x200"})
+    public String scene; // Bullets x rockets, plus 10 explosions
+
+    private final Font font = new Font(Font.SANS_SERIF, Font.BOLD, 15);
+    private final Color background = new Color(30, 30, 30);
+    private GameWorld world;
+    private BufferedImage image;
+    private Graphics2D g2;
+    private WorldSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        String[] counts = scene.split("x");
+        world = BenchmarkWorlds.create(Integer.parseInt(counts[0]), Integer.parseInt(counts[1]), new Random(42));
+        for (int i = 0; i < 10; i++) {
+            world.addBoomEffects(100 * i, 300, 100 * i + 25, 325);
+        }
+        world.applyChanges();
+        image = new BufferedImage(BenchmarkWorlds.WIDTH, BenchmarkWorlds.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = BenchmarkWorlds.createGraphics(image);
+        snapshot = new WorldSnapshot();
+    }
+
+    @Benchmark
+    public int drawGame() {
+        g2.setColor(background);
+        g2.fillRect(0, 0, BenchmarkWorlds.WIDTH, BenchmarkWorlds.HEIGHT);
+        world.draw(g2);
+        g2.setColor(Color.WHITE);
+        g2.setFont(font);
+        g2.drawString("Score: " + world.getScore(), 10, 20);
+        return image.getRGB(BenchmarkWorlds.WIDTH / 2, BenchmarkWorlds.HEIGHT / 2);
+    }
+
+    @Benchmark
+    public int captureSnapshot() {
+        snapshot.capture(world);
+        return snapshot.getParticleCount();
+    }
+}
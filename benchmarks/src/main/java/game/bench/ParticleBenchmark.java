@@ -0,0 +1,63 @@
+package game.bench;
+
+import game.component.GameWorld;
+import game.obj.ParticleEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one update and one draw of the explosion particles. About the given number of particles stay
+ * alive: new explosions are emitted at random places before every operation, outside of the timing.
+ * 168 particles are one explosion preset. Both antialiasing hints are measured: QualityGovernor picks
+ * the hint of the particles from them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ParticleBenchmark {
+
+    @Param({"168", "100000"})
+    public int particleCount;
+
+    @Param({"true", "false"})
+    public boolean antialiasing;
+
+    private Random random;
+    private GameWorld world;
+    private ParticleEngine particles;
+    private Graphics2D g2;
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        random = new Random(42);
+        world = BenchmarkWorlds.create(0, 0, random);
+        particles = world.getParticles();
+        g2 = BenchmarkWorlds.createGraphics(
+                new BufferedImage(BenchmarkWorlds.WIDTH, BenchmarkWorlds.HEIGHT, BufferedImage.TYPE_INT_RGB));
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                antialiasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+    }
+
+    @Setup(Level.Invocation)
+    public void emit() {
+        while (particles.size() < particleCount) {
+            double x = random.nextInt(BenchmarkWorlds.WIDTH);
+            double y = random.nextInt(BenchmarkWorlds.HEIGHT);
+            world.addBoomEffects(x, y, x + 25, y + 25);
+        }
+    }
+
+    @Benchmark
+    public int updateAndDraw() {
+        particles.update();
+        particles.draw(g2);
+        return particles.size();
+    }
+}
@@ -0,0 +1,70 @@
+package game.bench;
+
+import game.collision.Collision;
+import game.collision.TransformedHull;
+import game.obj.AssetRegistry;
+import game.obj.Player;
+import game.obj.Rocket;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-rocket collision work of a tick: moving a rocket and checking its transformed hull
+ * against the screen bounds, and the narrow phase tests of a bullet and of the player against a rocket hull.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RocketBenchmark {
+
+    private Rocket moving; // Moved before every check, so its hull is transformed again
+    private TransformedHull target; // Hull of a resting rocket hit by the bullet and the player
+    private TransformedHull player;
+    private double bulletX;
+    private double bulletY;
+
+    @Setup(Level.Trial)
+    public void createRockets() {
+        AssetRegistry.loadAll();
+        moving = new Rocket();
+        moving.changeLocation(400, 300);
+        moving.changeAngel(30);
+
+        Rocket resting = new Rocket();
+        resting.changeLocation(600, 300);
+        resting.changeAngel(30);
+        target = resting.getHull();
+        bulletX = (target.getMinX() + target.getMaxX()) / 2;
+        bulletY = (target.getMinY() + target.getMaxY()) / 2;
+
+        // The player overlaps the rocket, so every separating axis is tested
+        Player overlapping = new Player();
+        overlapping.changeLocation(bulletX - Player.PLAYER_SIZE / 2, bulletY - Player.PLAYER_SIZE / 2);
+        overlapping.changeAngel(200);
+        player = overlapping.getHull();
+    }
+
+    @Benchmark
+    public boolean check() {
+        moving.update();
+        if (!moving.check(BenchmarkWorlds.WIDTH, BenchmarkWorlds.HEIGHT)) {
+            moving.changeLocation(400, 300);
+            return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean bulletHit() {
+        return Collision.circleIntersectsPolygon(bulletX, bulletY, 2.5, target);
+    }
+
+    @Benchmark
+    public boolean playerHit() {
+        return Collision.polygonsIntersect(player, target);
+    }
+}
@@ -0,0 +1,109 @@
+package game.collision;
+
+/**
+ * The Collision class contains the narrow phase tests used by the game.
+ * The tests use the separating axis theorem on convex polygons: two convex shapes
+ * do not intersect if and only if there is an axis on which their projections do not overlap.
+ * They work directly on the vertex arrays of a TransformedHull and do not allocate.
+ */
+public final class Collision {
+
+    private Collision() {
+    }
+
+    /**
+     * Tests whether a circle intersects a convex polygon.
+     *
+     * @param cx      The x-coordinate of the circle's center.
+     * @param cy      The y-coordinate of the circle's center.
+     * @param radius  The radius of the circle.
+     * @param polygon The polygon in world coordinates.
+     * @return true if the circle and the polygon overlap, false otherwise.
+     */
+    public static boolean circleIntersectsPolygon(double cx, double cy, double radius, TransformedHull polygon) {
+        double[] xs = polygon.xs;
+        double[] ys = polygon.ys;
+        int n = polygon.count;
+
+        // Edge normals of the polygon
+        double closestX = 0;
+        double closestY = 0;
+        double closestDistance = Double.MAX_VALUE;
+        for (int i = 0, j = n - 1; i < n; j = i, i++) {
+            double axisX = ys[j] - ys[i];
+            double axisY = xs[i] - xs[j];
+            double length = Math.sqrt(axisX * axisX + axisY * axisY);
+            if (length > 0 && separated(axisX / length, axisY / length, xs, ys, n, cx, cy, radius)) {
+                return false;
+            }
+            double dx = xs[i] - cx;
+            double dy = ys[i] - cy;
+            double distance = dx * dx + dy * dy;
+            if (distance < closestDistance) {
+                closestDistance = distance;
+                closestX = dx;
+                closestY = dy;
+            }
+        }
+
+        // Axis from the circle's center to the closest vertex
+        double length = Math.sqrt(closestDistance);
+        return length == 0 || !separated(closestX / length, closestY / length, xs, ys, n, cx, cy, radius);
+    }
+
+    /**
+     * Tests whether two convex polygons intersect.
+     *
+     * @param a The first polygon in world coordinates.
+     * @param b The second polygon in world coordinates.
+     * @return true if the polygons overlap, false otherwise.
+     */
+    public static boolean polygonsIntersect(TransformedHull a, TransformedHull b) {
+        return !hasSeparatingEdge(a, b) && !hasSeparatingEdge(b, a);
+    }
+
+    /**
+     * Tests the edge normals of the first polygon as separating axes.
+     */
+    private static boolean hasSeparatingEdge(TransformedHull a, TransformedHull b) {
+        double[] xs = a.xs;
+        double[] ys = a.ys;
+        int n = a.count;
+        for (int i = 0, j = n - 1; i < n; j = i, i++) {
+            double axisX = ys[j] - ys[i];
+            double axisY = xs[i] - xs[j];
+
+            double minA = Double.MAX_VALUE, maxA = -Double.MAX_VALUE;
+            for (int k = 0; k < n; k++) {
+                double p = xs[k] * axisX + ys[k] * axisY;
+                minA = Math.min(minA, p);
+                maxA = Math.max(maxA, p);
+            }
+            double minB = Double.MAX_VALUE, maxB = -Double.MAX_VALUE;
+            for (int k = 0; k < b.count; k++) {
+                double p = b.xs[k] * axisX + b.ys[k] * axisY;
+                minB = Math.min(minB, p);
+                maxB = Math.max(maxB, p);
+            }
+            if (maxA < minB || maxB < minA) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether a unit axis separates a polygon from a circle.
+     */
+    private static boolean separated(double axisX, double axisY, double[] xs, double[] ys, int n,
+                                     double cx, double cy, double radius) {
+        double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+        for (int k = 0; k < n; k++) {
+            double p = xs[k] * axisX + ys[k] * axisY;
+            min = Math.min(min, p);
+            max = Math.max(max, p);
+        }
+        double center = cx * axisX + cy * axisY;
+        return center + radius < min || center - radius > max;
+    }
+}
@@ -0,0 +1,83 @@
+package game.collision;
+
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+/**
+ * The ConvexHull class holds the vertices of a convex polygon in local (model) coordinates.
+ * It is built once from the outline of an entity and never changes afterwards,
+ * so a single instance can be shared by every entity of the same kind.
+ * The vertices are stored in primitive arrays to keep collision tests free of allocation.
+ */
+public class ConvexHull {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final int count;
+
+    /**
+     * Constructor to create a hull from the outline of a shape.
+     * Only straight segments are expected; the outline must be convex.
+     *
+     * @param outline The shape whose vertices form the hull, e.g. a closed Path2D.
+     */
+    public ConvexHull(Shape outline) {
+        double[] x = new double[8];
+        double[] y = new double[8];
+        int n = 0;
+        double[] coords = new double[6];
+        for (PathIterator it = outline.getPathIterator(null, 1); !it.isDone(); it.next()) {
+            int type = it.currentSegment(coords);
+            if (type == PathIterator.SEG_MOVETO || type == PathIterator.SEG_LINETO) {
+                if (n == x.length) {
+                    x = Arrays.copyOf(x, n * 2);
+                    y = Arrays.copyOf(y, n * 2);
+                }
+                x[n] = coords[0];
+                y[n] = coords[1];
+                n++;
+            }
+        }
+        // A closed path may repeat its first vertex at the end
+        if (n > 1 && x[n - 1] == x[0] && y[n - 1] == y[0]) {
+            n--;
+        }
+        this.xs = Arrays.copyOf(x, n);
+        this.ys = Arrays.copyOf(y, n);
+        this.count = n;
+    }
+
+    /**
+     * Transforms the hull into world coordinates, the same way as an AffineTransform that
+     * translates to (x, y) and then rotates by the angle around the pivot.
+     *
+     * @param x      The x-coordinate of the entity.
+     * @param y      The y-coordinate of the entity.
+     * @param angle  The rotation in degrees.
+     * @param pivotX The x-coordinate of the rotation pivot, in local coordinates.
+     * @param pivotY The y-coordinate of the rotation pivot, in local coordinates.
+     * @param outX   The array receiving the transformed x-coordinates.
+     * @param outY   The array receiving the transformed y-coordinates.
+     */
+    public void transform(double x, double y, double angle, double pivotX, double pivotY, double[] outX, double[] outY) {
+        double rad = Math.toRadians(angle);
+        double cos = Math.cos(rad);
+        double sin = Math.sin(rad);
+        for (int i = 0; i < count; i++) {
+            double dx = xs[i] - pivotX;
+            double dy = ys[i] - pivotY;
+            outX[i] = x + pivotX + dx * cos - dy * sin;
+            outY[i] = y + pivotY + dx * sin + dy * cos;
+        }
+    }
+
+    /**
+     * Gets the number of vertices of the hull.
+     *
+     * @return The vertex count.
+     */
+    public int getCount() {
+        return count;
+    }
+}
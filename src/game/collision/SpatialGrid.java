@@ -0,0 +1,264 @@
+package game.collision;
+
+import java.util.Arrays;
+
+/**
+ * The SpatialGrid class is a uniform grid broad phase for collision detection.
+ * Items are inserted with their axis-aligned bounding box (AABB) and stored in every cell
+ * the box overlaps. A query then only returns the items sharing a cell with the query box,
+ * so the expensive narrow phase only runs for nearby pairs.
+ *
+ * The grid is rebuilt once per simulation tick. All storage is kept in primitive arrays
+ * that grow when needed and are reused between ticks, so a rebuild does not allocate.
+ *
+ * Once built, the grid can be queried by several threads at the same time, each with its own
+ * {@link Query} object. Adding items and building must not overlap with any query.
+ *
+ * @param <T> The type of the items stored in the grid.
+ */
+public class SpatialGrid<T> {
+
+    /**
+     * The state of one query: the matching items and the stamps that filter duplicates.
+     * A query object must only be used by one thread at a time.
+     */
+    public static final class Query {
+        private int[] stamps = new int[64];
+        private int stamp;
+        private int[] result = new int[64];
+    }
+
+    private final double cellSize;
+    private final double originX;
+    private final double originY;
+    private final int cols;
+    private final int rows;
+
+    // Items and their bounding boxes, indexed in insertion order
+    private Object[] items = new Object[64];
+    private double[] minX = new double[64];
+    private double[] minY = new double[64];
+    private double[] maxX = new double[64];
+    private double[] maxY = new double[64];
+    private int itemCount;
+
+    // Cell contents in compressed form: the items of cell c are entries[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellStart;
+    private int[] entries = new int[256];
+
+    // Query state of the single-threaded query methods
+    private final Query query = new Query();
+
+    /**
+     * Constructor to create a grid covering the given world area.
+     * Items outside the area are clamped into the border cells.
+     *
+     * @param x        The x-coordinate of the covered area.
+     * @param y        The y-coordinate of the covered area.
+     * @param width    The width of the covered area.
+     * @param height   The height of the covered area.
+     * @param cellSize The width and height of one cell.
+     */
+    public SpatialGrid(double x, double y, double width, double height, double cellSize) {
+        this.originX = x;
+        this.originY = y;
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellStart = new int[cols * rows + 1];
+    }
+
+    /**
+     * Removes all items from the grid.
+     */
+    public void clear() {
+        for (int i = 0; i < itemCount; i++) {
+            items[i] = null;
+        }
+        itemCount = 0;
+        Arrays.fill(cellStart, 0);
+    }
+
+    /**
+     * Adds an item with its bounding box. The item becomes visible to queries after {@link #build()}.
+     *
+     * @param item The item to add.
+     * @param x1   The minimum x-coordinate of the bounding box.
+     * @param y1   The minimum y-coordinate of the bounding box.
+     * @param x2   The maximum x-coordinate of the bounding box.
+     * @param y2   The maximum y-coordinate of the bounding box.
+     */
+    public void add(T item, double x1, double y1, double x2, double y2) {
+        if (itemCount == items.length) {
+            int capacity = itemCount * 2;
+            items = Arrays.copyOf(items, capacity);
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+            maxY = Arrays.copyOf(maxY, capacity);
+        }
+        items[itemCount] = item;
+        minX[itemCount] = x1;
+        minY[itemCount] = y1;
+        maxX[itemCount] = x2;
+        maxY[itemCount] = y2;
+        itemCount++;
+    }
+
+    /**
+     * Sorts the added items into their cells. Must be called after the last {@link #add} of a tick.
+     */
+    public void build() {
+        // First pass: count the entries of every cell
+        int total = 0;
+        for (int i = 0; i < itemCount; i++) {
+            int c1 = cellX(minX[i]), c2 = cellX(maxX[i]);
+            int r1 = cellY(minY[i]), r2 = cellY(maxY[i]);
+            for (int r = r1; r <= r2; r++) {
+                for (int c = c1; c <= c2; c++) {
+                    cellStart[r * cols + c + 1]++;
+                    total++;
+                }
+            }
+        }
+        if (total > entries.length) {
+            entries = new int[Math.max(total, entries.length * 2)];
+        }
+
+        // Turn the counts into start offsets
+        for (int c = 1; c < cellStart.length; c++) {
+            cellStart[c] += cellStart[c - 1];
+        }
+
+        // Second pass: write the item indices, using cellStart[c] as a moving cursor
+        for (int i = 0; i < itemCount; i++) {
+            int c1 = cellX(minX[i]), c2 = cellX(maxX[i]);
+            int r1 = cellY(minY[i]), r2 = cellY(maxY[i]);
+            for (int r = r1; r <= r2; r++) {
+                for (int c = c1; c <= c2; c++) {
+                    entries[cellStart[r * cols + c]++] = i;
+                }
+            }
+        }
+
+        // The cursors now point at the end of each cell, shift them back to the start
+        for (int c = cellStart.length - 1; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    /**
+     * Finds the items whose bounding box overlaps the given box.
+     * The matching item indices are returned in insertion order and can be read
+     * with {@link #getResult(int)} until the next query.
+     *
+     * @param x1 The minimum x-coordinate of the query box.
+     * @param y1 The minimum y-coordinate of the query box.
+     * @param x2 The maximum x-coordinate of the query box.
+     * @param y2 The maximum y-coordinate of the query box.
+     * @return The number of matching items.
+     */
+    public int query(double x1, double y1, double x2, double y2) {
+        return query(query, x1, y1, x2, y2);
+    }
+
+    /**
+     * Gets an item found by the last query.
+     *
+     * @param index The position in the query result, between 0 and the query count.
+     * @return The matching item.
+     */
+    public T getResult(int index) {
+        return getResult(query, index);
+    }
+
+    /**
+     * Creates the state for queries from another thread.
+     *
+     * @return A new query object.
+     */
+    public Query newQuery() {
+        return new Query();
+    }
+
+    /**
+     * Finds the items whose bounding box overlaps the given box, like {@link #query(double, double, double, double)},
+     * keeping the result in the given query object. Threads using different query objects can query at the same time.
+     *
+     * @param q  The query object that receives the result.
+     * @param x1 The minimum x-coordinate of the query box.
+     * @param y1 The minimum y-coordinate of the query box.
+     * @param x2 The maximum x-coordinate of the query box.
+     * @param y2 The maximum y-coordinate of the query box.
+     * @return The number of matching items.
+     */
+    public int query(Query q, double x1, double y1, double x2, double y2) {
+        // A stamp per item avoids reporting an item twice when it spans several cells
+        int[] stamps = q.stamps;
+        if (stamps.length < itemCount) {
+            stamps = Arrays.copyOf(stamps, Math.max(itemCount, stamps.length * 2));
+            q.stamps = stamps;
+        }
+        int stamp = ++q.stamp;
+        if (stamp == 0) {
+            // The stamp wrapped around, forget the old stamps
+            Arrays.fill(stamps, 0);
+            stamp = q.stamp = 1;
+        }
+        int[] result = q.result;
+        int count = 0;
+        int c1 = cellX(x1), c2 = cellX(x2);
+        int r1 = cellY(y1), r2 = cellY(y2);
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                int cell = r * cols + c;
+                for (int e = cellStart[cell]; e < cellStart[cell + 1]; e++) {
+                    int i = entries[e];
+                    if (stamps[i] != stamp && minX[i] <= x2 && maxX[i] >= x1 && minY[i] <= y2 && maxY[i] >= y1) {
+                        stamps[i] = stamp;
+                        if (count == result.length) {
+                            result = Arrays.copyOf(result, count * 2);
+                            q.result = result;
+                        }
+                        result[count++] = i;
+                    }
+                }
+            }
+        }
+        // Keep the insertion order so that results do not depend on the cell layout
+        Arrays.sort(result, 0, count);
+        return count;
+    }
+
+    /**
+     * Gets an item found by the last query of a query object.
+     *
+     * @param q     The query object.
+     * @param index The position in the query result, between 0 and the query count.
+     * @return The matching item.
+     */
+    @SuppressWarnings("unchecked")
+    public T getResult(Query q, int index) {
+        return (T) items[q.result[index]];
+    }
+
+    /**
+     * Gets the number of items in the grid.
+     *
+     * @return The item count.
+     */
+    public int size() {
+        return itemCount;
+    }
+
+    private int cellX(double x) {
+        int c = (int) Math.floor((x - originX) / cellSize);
+        return c < 0 ? 0 : (c >= cols ? cols - 1 : c);
+    }
+
+    private int cellY(double y) {
+        int r = (int) Math.floor((y - originY) / cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+}
@@ -0,0 +1,93 @@
+package game.collision;
+
+/**
+ * The TransformedHull class is the world-space copy of a shared ConvexHull for one entity.
+ * It keeps the transformed vertices and their bounding box in preallocated arrays,
+ * so moving an entity and testing it for collisions does not allocate.
+ */
+public class TransformedHull {
+
+    private final ConvexHull hull;
+    private final double pivotX;
+    private final double pivotY;
+    final double[] xs;
+    final double[] ys;
+    final int count;
+
+    // Axis-aligned bounding box of the transformed vertices
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+
+    /**
+     * Constructor to create the world-space copy of a hull.
+     *
+     * @param hull   The shared hull in local coordinates.
+     * @param pivotX The x-coordinate of the rotation pivot, in local coordinates.
+     * @param pivotY The y-coordinate of the rotation pivot, in local coordinates.
+     */
+    public TransformedHull(ConvexHull hull, double pivotX, double pivotY) {
+        this.hull = hull;
+        this.pivotX = pivotX;
+        this.pivotY = pivotY;
+        this.count = hull.getCount();
+        this.xs = new double[count];
+        this.ys = new double[count];
+    }
+
+    /**
+     * Moves the hull to the given position and angle and recomputes its bounding box.
+     *
+     * @param x     The x-coordinate of the entity.
+     * @param y     The y-coordinate of the entity.
+     * @param angle The rotation of the entity in degrees.
+     */
+    public void update(double x, double y, double angle) {
+        hull.transform(x, y, angle, pivotX, pivotY, xs, ys);
+        minX = maxX = xs[0];
+        minY = maxY = ys[0];
+        for (int i = 1; i < count; i++) {
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+    }
+
+    /**
+     * Gets the minimum x-coordinate of the bounding box.
+     *
+     * @return The minimum x-coordinate.
+     */
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * Gets the minimum y-coordinate of the bounding box.
+     *
+     * @return The minimum y-coordinate.
+     */
+    public double getMinY() {
+        return minY;
+    }
+
+    /**
+     * Gets the maximum x-coordinate of the bounding box.
+     *
+     * @return The maximum x-coordinate.
+     */
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Gets the maximum y-coordinate of the bounding box.
+     *
+     * @return The maximum y-coordinate.
+     */
+    public double getMaxY() {
+        return maxY;
+    }
+}
@@ -0,0 +1,75 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * The BufferStrategyBackend class renders actively into a Canvas placed over the game panel.
+ * The Canvas uses a two-buffer BufferStrategy in the screen's pixel format, which page flips
+ * when the graphics hardware supports it and copies the back buffer otherwise.
+ */
+public class BufferStrategyBackend extends RenderBackend {
+
+    private final Canvas canvas;
+    private final BufferStrategy strategy;
+
+    /**
+     * Constructor to add the canvas to the panel and create its buffer strategy.
+     * Must be called once the panel is displayable.
+     *
+     * @param panel The game panel the canvas is added to.
+     * @throws AWTException If the buffer strategy cannot be created.
+     */
+    public BufferStrategyBackend(PanelGame panel) throws AWTException {
+        canvas = new Canvas();
+        canvas.setIgnoreRepaint(true);
+        canvas.setBackground(new Color(30, 30, 30));
+        panel.setLayout(new BorderLayout());
+        panel.add(canvas);
+        panel.validate();
+        BufferCapabilities flip = new BufferCapabilities(new ImageCapabilities(true), new ImageCapabilities(true),
+                BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            canvas.createBufferStrategy(2, flip);
+        } catch (AWTException e) {
+            // Page flipping is not supported, let AWT pick a blitting strategy
+            canvas.createBufferStrategy(2);
+        }
+        strategy = canvas.getBufferStrategy();
+    }
+
+    @Override
+    public Graphics2D beginFrame() {
+        return (Graphics2D) strategy.getDrawGraphics();
+    }
+
+    @Override
+    protected boolean show(Graphics2D g2) {
+        g2.dispose();
+        if (strategy.contentsRestored() || strategy.contentsLost()) {
+            return false;
+        }
+        strategy.show();
+        Toolkit.getDefaultToolkit().sync(); // Flush the window system so frames are not delayed
+        return !strategy.contentsLost();
+    }
+
+    @Override
+    public String getName() {
+        return strategy.getCapabilities().isPageFlipping() ? "bufferstrategy (page flipping)" : "bufferstrategy (blit)";
+    }
+
+    /**
+     * Gets the canvas the frames are drawn on. Key events are delivered to it while it has the focus.
+     *
+     * @return The canvas.
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    @Override
+    public void dispose() {
+        strategy.dispose();
+    }
+}
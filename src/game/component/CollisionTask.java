@@ -0,0 +1,95 @@
+package game.component;
+
+import game.collision.Collision;
+import game.collision.SpatialGrid;
+import game.obj.BulletBuffer;
+import game.obj.Rocket;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The CollisionTask class runs the bullet narrow phase for a range of bullets on a ForkJoinPool,
+ * splitting the range until each task holds at most LEAF_BULLETS bullets.
+ *
+ * The task only reads the world. For every live bullet it records the first rocket, in grid insertion
+ * order, whose hull the bullet touches, without looking at the rockets' HP. GameWorld then applies the
+ * hits serially in bullet order, so the outcome does not depend on how the range was split or which
+ * thread ran which part. Every rocket hull must be up to date before the task runs, because computing
+ * a hull is not thread-safe; building the grid already does that.
+ */
+final class CollisionTask extends RecursiveTask<Integer> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int LEAF_BULLETS = 128;
+
+    private final BulletBuffer bullets;
+    private final SpatialGrid<Rocket> grid;
+    private final ThreadLocal<SpatialGrid.Query> queries; // One grid query per worker thread
+    private final Rocket[] hits; // First rocket hit by each bullet, or null
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructor to create a task for a range of bullets.
+     *
+     * @param bullets The bullets.
+     * @param grid    The built rocket grid.
+     * @param queries The grid queries of the worker threads.
+     * @param hits    Receives the first rocket hit by each bullet of the range.
+     * @param from    The first bullet of the range.
+     * @param to      The bullet after the last one of the range.
+     */
+    CollisionTask(BulletBuffer bullets, SpatialGrid<Rocket> grid, ThreadLocal<SpatialGrid.Query> queries,
+                  Rocket[] hits, int from, int to) {
+        this.bullets = bullets;
+        this.grid = grid;
+        this.queries = queries;
+        this.hits = hits;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Searches the hits of the range.
+     *
+     * @return The number of pairs tested by the narrow phase.
+     */
+    @Override
+    protected Integer compute() {
+        if (to - from <= LEAF_BULLETS) {
+            return search();
+        }
+        int middle = (from + to) >>> 1;
+        CollisionTask left = new CollisionTask(bullets, grid, queries, hits, from, middle);
+        left.fork();
+        int pairs = new CollisionTask(bullets, grid, queries, hits, middle, to).compute();
+        return pairs + left.join();
+    }
+
+    private int search() {
+        SpatialGrid.Query query = queries.get();
+        int pairs = 0;
+        for (int i = from; i < to; i++) {
+            hits[i] = null;
+            if (!bullets.isAlive(i)) {
+                continue;
+            }
+            double size = bullets.getSize(i);
+            double bulletX = bullets.getX(i);
+            double bulletY = bullets.getY(i);
+            double centerX = bullets.getCenterX(i);
+            double centerY = bullets.getCenterY(i);
+            int count = grid.query(query, bulletX, bulletY, bulletX + size, bulletY + size);
+            for (int j = 0; j < count; j++) {
+                Rocket rocket = grid.getResult(query, j);
+                pairs++;
+                if (Collision.circleIntersectsPolygon(centerX, centerY, size / 2, rocket.getHull())) {
+                    hits[i] = rocket;
+                    break;
+                }
+            }
+        }
+        return pairs;
+    }
+}
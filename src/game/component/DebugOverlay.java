@@ -0,0 +1,116 @@
+package game.component;
+
+import java.awt.*;
+
+/**
+ * The DebugOverlay class draws the frame metrics on top of the game: render and simulation phase times,
+ * the presentation cost, the render quality level, input latency, entity counts, allocation rate,
+ * garbage collection activity and a rolling frame-time graph with the frame budget marked.
+ * The text is rebuilt only when the metrics summary changes, a few times per second,
+ * so drawing the overlay does not allocate in a normal frame.
+ */
+public class DebugOverlay {
+
+    private static final int X = 10;
+    private static final int Y = 40;
+    private static final int WIDTH = 420;
+    private static final int LINE_HEIGHT = 14;
+    private static final int GRAPH_HEIGHT = 60;
+    private static final long GRAPH_SCALE = 33333333L; // Frame time shown at the top of the graph
+
+    private final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private final Color background = new Color(0, 0, 0, 170);
+    private final Color text = new Color(220, 220, 220);
+    private final Color graph = new Color(90, 200, 120);
+    private final Color late = new Color(240, 80, 80);
+    private final Color budget = new Color(240, 200, 80);
+
+    private final FrameMetrics metrics;
+    private final long targetTime;
+    private String[] lines = new String[0];
+    private int version = -1;
+
+    /**
+     * Constructor to create the overlay.
+     *
+     * @param metrics    The metrics of the render loop.
+     * @param targetTime The frame budget in nanoseconds.
+     */
+    public DebugOverlay(FrameMetrics metrics, long targetTime) {
+        this.metrics = metrics;
+        this.targetTime = targetTime;
+    }
+
+    /**
+     * Draws the overlay.
+     *
+     * @param g2       The Graphics2D object used for drawing.
+     * @param world    The game world whose simulation times are shown.
+     * @param snapshot The drawn snapshot, whose entity counts are shown.
+     */
+    public void draw(Graphics2D g2, GameWorld world, WorldSnapshot snapshot) {
+        if (version != metrics.getSummaryVersion()) {
+            version = metrics.getSummaryVersion();
+            lines = buildLines(world, snapshot);
+        }
+        int height = lines.length * LINE_HEIGHT + GRAPH_HEIGHT + 20;
+        g2.setColor(background);
+        g2.fillRect(X, Y, WIDTH, height);
+
+        g2.setFont(font);
+        g2.setColor(text);
+        int y = Y + LINE_HEIGHT;
+        for (String line : lines) {
+            g2.drawString(line, X + 8, y);
+            y += LINE_HEIGHT;
+        }
+
+        // Rolling frame-time graph, one column per frame, oldest on the left
+        int base = y + GRAPH_HEIGHT;
+        for (int i = 0; i < FrameMetrics.HISTORY; i++) {
+            long time = metrics.getFrameTime(i);
+            int bar = (int) Math.min(GRAPH_HEIGHT, time * GRAPH_HEIGHT / GRAPH_SCALE);
+            g2.setColor(time > targetTime ? late : graph);
+            g2.drawLine(X + 10 + i, base, X + 10 + i, base - bar);
+        }
+        int budgetY = base - (int) (targetTime * GRAPH_HEIGHT / GRAPH_SCALE);
+        g2.setColor(budget);
+        g2.drawLine(X + 10, budgetY, X + 10 + FrameMetrics.HISTORY, budgetY);
+    }
+
+    private String[] buildLines(GameWorld world, WorldSnapshot snapshot) {
+        StringBuilder render = new StringBuilder("render ");
+        for (int i = 0; i < FrameMetrics.PHASE_NAMES.length; i++) {
+            render.append(FrameMetrics.PHASE_NAMES[i]).append(' ').append(millis(metrics.getPhaseTime(i))).append(' ');
+        }
+        StringBuilder simulation = new StringBuilder("tick ");
+        for (int i = 0; i < GameWorld.PHASE_NAMES.length; i++) {
+            simulation.append(GameWorld.PHASE_NAMES[i].charAt(0)).append(' ')
+                    .append(millis(world.getPhaseTime(i))).append(' ');
+        }
+        InputQueue input = world.getInputQueue();
+        String latency = input == null ? "input scripted" : String.format(
+                "input last/max ms: tick %s/%s  screen %s/%s  drop %d",
+                millis(input.getLastLatency()), millis(input.getMaxLatency()),
+                millis(metrics.getInputLatency()), millis(metrics.getInputLatencyMax()), input.getDropped());
+        return new String[]{
+                String.format("fps %.0f  frame p50 %s  p99 %s  max %s ms", metrics.getFps(),
+                        millis(metrics.getP50()), millis(metrics.getP99()), millis(metrics.getMax())),
+                render.toString(),
+                "present avg " + millis(metrics.getPresentAverage()) + "  max " + millis(metrics.getPresentMax()) + " ms",
+                "quality " + metrics.getQualityLevel() + ": " + QualityGovernor.LEVEL_NAMES[metrics.getQualityLevel()],
+                latency,
+                simulation.toString(),
+                String.format("bullets %d  rockets %d  particles %d  explosions %d  tick %d",
+                        snapshot.getBulletCount(), snapshot.getRocketCount(), snapshot.getParticleCount(),
+                        snapshot.getExplosionCount(), snapshot.getTick()),
+                String.format("alloc %.1f MB/s  gc %d (%d ms), recent %d (%d ms)",
+                        metrics.getAllocationRate() / 1048576.0, metrics.getGcCount(), metrics.getGcTime(),
+                        metrics.getGcRecentCount(), metrics.getGcRecentTime())
+        };
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1000000.0);
+    }
+}
@@ -0,0 +1,262 @@
+package game.component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The EntityRegistry class holds the live entities of one kind (the rockets of a GameWorld) and lets any thread
+ * add and remove them without locks.
+ *
+ * Writers never touch the entity list directly: {@link #add}, {@link #remove} and {@link #clear} append a
+ * command to a buffer owned by the calling thread. The simulation thread applies all buffered commands at
+ * one safe point per tick with {@link #apply()}, which publishes a new immutable {@link View}.
+ * Readers take the current view once and iterate it without locks; a view never changes, so a reader
+ * never sees a half-applied change, skips an entity or reads past the end of the list.
+ *
+ * Commands of one thread are applied in the order they were issued, buffers of different threads in the
+ * order the threads first used the registry. Entities removed during a tick stay in the view until the
+ * safe point, so the simulation must skip entities it already destroyed. An entity removed and added again
+ * before the same safe point ends up removed.
+ *
+ * @param <T> The type of the entities.
+ */
+public class EntityRegistry<T> {
+
+    private static final int ADD = 0;
+    private static final int REMOVE = 1;
+    private static final int CLEAR = 2;
+
+    /**
+     * An immutable list of the entities at one safe point.
+     *
+     * @param <T> The type of the entities.
+     */
+    public static final class View<T> {
+        private final Object[] items;
+
+        private View(Object[] items) {
+            this.items = items;
+        }
+
+        /**
+         * Gets the number of entities in the view.
+         *
+         * @return The entity count.
+         */
+        public int size() {
+            return items.length;
+        }
+
+        /**
+         * Gets an entity of the view.
+         *
+         * @param index The position of the entity, between 0 and size() - 1.
+         * @return The entity.
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            return (T) items[index];
+        }
+
+        /**
+         * Checks whether the view has no entities.
+         *
+         * @return true if the view is empty.
+         */
+        public boolean isEmpty() {
+            return items.length == 0;
+        }
+    }
+
+    // Every thread's command buffer, in the order the threads first used the registry
+    private final List<CommandBuffer> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<CommandBuffer> localBuffer = new ThreadLocal<CommandBuffer>() {
+        @Override
+        protected CommandBuffer initialValue() {
+            CommandBuffer buffer = new CommandBuffer();
+            buffers.add(buffer);
+            return buffer;
+        }
+    };
+    private volatile View<T> view = new View<>(new Object[0]);
+
+    // Used only by the applying thread
+    private Object[] work = new Object[16];
+    private final Set<Object> removed = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    private long commandCount;
+
+    /**
+     * Queues an entity to be added at the next safe point.
+     *
+     * @param entity The entity.
+     */
+    public void add(T entity) {
+        localBuffer.get().push(ADD, entity);
+    }
+
+    /**
+     * Queues an entity to be removed at the next safe point.
+     *
+     * @param entity The entity.
+     */
+    public void remove(T entity) {
+        localBuffer.get().push(REMOVE, entity);
+    }
+
+    /**
+     * Queues the removal of every entity at the next safe point, including the ones queued
+     * to be added by this thread before the call.
+     */
+    public void clear() {
+        localBuffer.get().push(CLEAR, null);
+    }
+
+    /**
+     * Applies every queued command and publishes the resulting view. This is the safe point:
+     * it must only be called by one thread, the simulation thread, once per tick.
+     *
+     * @return true if the entities changed.
+     */
+    public boolean apply() {
+        Object[] current = view.items;
+        int count = current.length;
+        if (work.length < count) {
+            work = new Object[Math.max(count, work.length * 2)];
+        }
+        System.arraycopy(current, 0, work, 0, count);
+        boolean changed = false;
+
+        for (CommandBuffer buffer : buffers) {
+            int type;
+            while ((type = buffer.peekType()) >= 0) {
+                Object entity = buffer.pop();
+                changed = true;
+                commandCount++;
+                if (type == ADD) {
+                    if (count == work.length) {
+                        work = Arrays.copyOf(work, count * 2);
+                    }
+                    work[count++] = entity;
+                } else if (type == REMOVE) {
+                    removed.add(entity);
+                } else {
+                    // Drop everything seen so far, including earlier removals
+                    Arrays.fill(work, 0, count, null);
+                    count = 0;
+                    removed.clear();
+                }
+            }
+        }
+        if (!changed) {
+            return false;
+        }
+
+        // Compact the removed entities away, keeping the order of the others
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            Object entity = work[i];
+            if (!removed.contains(entity)) {
+                work[size++] = entity;
+            }
+        }
+        removed.clear();
+        view = new View<>(Arrays.copyOf(work, size));
+        Arrays.fill(work, 0, count, null);
+        return true;
+    }
+
+    /**
+     * Gets the entities as of the last safe point. The view never changes and can be used from any thread.
+     *
+     * @return The current view.
+     */
+    public View<T> view() {
+        return view;
+    }
+
+    /**
+     * Gets the number of entities as of the last safe point.
+     *
+     * @return The entity count.
+     */
+    public int size() {
+        return view.size();
+    }
+
+    /**
+     * Gets the number of commands applied so far.
+     *
+     * @return The command count.
+     */
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * A single-producer, single-consumer queue of commands: the owning thread pushes, the applying thread pops.
+     * Commands are stored in linked chunks. The producer publishes each command by writing the chunk's
+     * volatile count, so the consumer sees a command only after its fields were written. No locks are taken
+     * and the only allocation is a new chunk every CHUNK commands.
+     */
+    private static final class CommandBuffer {
+        private static final int CHUNK = 256;
+
+        private static final class Chunk {
+            final int[] types = new int[CHUNK];
+            final Object[] entities = new Object[CHUNK];
+            volatile int published; // Number of commands written to the chunk
+            volatile Chunk next;
+        }
+
+        // Producer side
+        private Chunk tail = new Chunk();
+        private int tailCount;
+
+        // Consumer side
+        private Chunk head = tail;
+        private int headIndex;
+
+        void push(int type, Object entity) {
+            if (tailCount == CHUNK) {
+                Chunk chunk = new Chunk();
+                tail.next = chunk;
+                tail = chunk;
+                tailCount = 0;
+            }
+            tail.types[tailCount] = type;
+            tail.entities[tailCount] = entity;
+            tail.published = ++tailCount;
+        }
+
+        /**
+         * Gets the type of the next command without taking it.
+         *
+         * @return The command type, or -1 if the buffer is empty.
+         */
+        int peekType() {
+            if (headIndex == CHUNK) {
+                Chunk next = head.next;
+                if (next == null) {
+                    return -1;
+                }
+                head = next;
+                headIndex = 0;
+            }
+            return headIndex < head.published ? head.types[headIndex] : -1;
+        }
+
+        /**
+         * Takes the entity of the next command. Must follow a successful {@link #peekType()}.
+         */
+        Object pop() {
+            Object entity = head.entities[headIndex];
+            head.entities[headIndex] = null;
+            headIndex++;
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package game.component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The FrameMetrics class collects the timing of the render loop: the duration of each render phase,
+ * the presentation cost of the render backend, a rolling history of frame times, and a summary with
+ * p50/p99/max frame times, the allocation rate of the render and simulation threads and garbage
+ * collection activity. Recording a frame only writes into preallocated arrays; the summary
+ * is recomputed a few times per second.
+ */
+public class FrameMetrics {
+
+    // Render phases, in the order they run in a frame
+    public static final int PHASE_BACKGROUND = 0;
+    public static final int PHASE_GAME = 1;
+    public static final int PHASE_PRESENT = 2;
+    public static final String[] PHASE_NAMES = {"background", "game", "present"};
+
+    public static final int HISTORY = 240; // Frames kept for the graph and the percentiles
+    private static final long SUMMARY_INTERVAL = 250000000L; // Time between summaries in nanoseconds
+
+    private final long[] phaseTimes = new long[PHASE_NAMES.length];
+    private final long[] frameTimes = new long[HISTORY];
+    private final long[] sorted = new long[HISTORY];
+    private int frameIndex;
+    private long frameCount;
+
+    // Summary, refreshed every SUMMARY_INTERVAL
+    private long lastSummary;
+    private long summaryFrames;
+    private int summaryVersion;
+    private long p50;
+    private long p99;
+    private long max;
+    private double fps;
+    private long allocationRate;
+    private long gcCount;
+    private long gcTime;
+    private long gcRecentCount;
+    private long gcRecentTime;
+
+    // Key-to-screen latency: time from a key event to the first frame showing a tick that applied it
+    private long inputLatency;
+    private long inputLatencyMax;
+
+    // Cost of showing a finished frame through the render backend
+    private long presentAverage;
+    private long presentMax;
+
+    private volatile int qualityLevel; // Render quality level of the last frame, see QualityGovernor
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private long lastAllocated = -1;
+    private volatile long simulationThread = -1; // Id of the simulation thread, -1 if not known
+
+    /**
+     * Records the duration of a render phase of the current frame.
+     *
+     * @param phase One of the PHASE constants.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordPhase(int phase, long nanos) {
+        phaseTimes[phase] = nanos;
+    }
+
+    /**
+     * Records the render quality level the current frame was drawn at.
+     *
+     * @param level The QualityGovernor level.
+     */
+    public void recordQuality(int level) {
+        qualityLevel = level;
+    }
+
+    /**
+     * Records the time from a key event to the presentation of the first frame that shows its effect.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    public void recordInputLatency(long nanos) {
+        inputLatency = nanos;
+        inputLatencyMax = Math.max(inputLatencyMax, nanos);
+    }
+
+    /**
+     * Records the presentation cost of the render backend since the start.
+     *
+     * @param average The average time to show a frame in nanoseconds.
+     * @param max     The longest time to show a frame in nanoseconds.
+     */
+    public void recordPresent(long average, long max) {
+        presentAverage = average;
+        presentMax = max;
+    }
+
+    /**
+     * Sets the simulation thread whose allocations are added to those of the render thread.
+     *
+     * @param threadId The id of the simulation thread.
+     */
+    public void setSimulationThread(long threadId) {
+        simulationThread = threadId;
+    }
+
+    /**
+     * Records the total time of a frame and refreshes the summary when it is due.
+     *
+     * @param nanos The frame time in nanoseconds.
+     */
+    public void recordFrame(long nanos) {
+        frameTimes[frameIndex] = nanos;
+        frameIndex = (frameIndex + 1) % HISTORY;
+        frameCount++;
+        long now = System.nanoTime();
+        if (now - lastSummary >= SUMMARY_INTERVAL) {
+            summarize(now);
+        }
+    }
+
+    private void summarize(long now) {
+        int count = (int) Math.min(frameCount, HISTORY);
+        System.arraycopy(frameTimes, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        p50 = sorted[count / 2];
+        p99 = sorted[Math.min(count - 1, (int) (count * 0.99))];
+        max = sorted[count - 1];
+
+        double seconds = (now - lastSummary) / 1000000000.0;
+        if (lastSummary != 0) {
+            fps = (frameCount - summaryFrames) / seconds;
+        }
+
+        // Allocation of the render thread, which records the frames, and of the simulation thread, if the
+        // JVM can report it. Querying single threads does not allocate, unlike a query of all thread ids.
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            long allocated = Math.max(0, allocations.getCurrentThreadAllocatedBytes());
+            long simulation = simulationThread;
+            if (simulation >= 0) {
+                allocated += Math.max(0, allocations.getThreadAllocatedBytes(simulation));
+            }
+            if (lastAllocated >= 0 && lastSummary != 0) {
+                allocationRate = (long) (Math.max(0, allocated - lastAllocated) / seconds);
+            }
+            lastAllocated = allocated;
+        }
+
+        long collections = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            collections += Math.max(0, collector.getCollectionCount());
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        gcRecentCount = collections - gcCount;
+        gcRecentTime = time - gcTime;
+        gcCount = collections;
+        gcTime = time;
+
+        summaryFrames = frameCount;
+        lastSummary = now;
+        summaryVersion++;
+    }
+
+    /**
+     * Gets the duration of a render phase in the last frame.
+     *
+     * @param phase One of the PHASE constants.
+     * @return The duration in nanoseconds.
+     */
+    public long getPhaseTime(int phase) {
+        return phaseTimes[phase];
+    }
+
+    /**
+     * Gets a frame time from the history, oldest first.
+     *
+     * @param index The position in the history, between 0 and HISTORY - 1.
+     * @return The frame time in nanoseconds, or 0 if not recorded yet.
+     */
+    public long getFrameTime(int index) {
+        return frameTimes[(frameIndex + index) % HISTORY];
+    }
+
+    /**
+     * Gets a number that changes every time the summary is refreshed.
+     *
+     * @return The summary version.
+     */
+    public int getSummaryVersion() {
+        return summaryVersion;
+    }
+
+    /**
+     * Gets the median frame time of the history.
+     *
+     * @return The p50 frame time in nanoseconds.
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Gets the 99th percentile frame time of the history.
+     *
+     * @return The p99 frame time in nanoseconds.
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Gets the longest frame time of the history.
+     *
+     * @return The maximum frame time in nanoseconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the number of frames per second since the previous summary.
+     *
+     * @return The frame rate.
+     */
+    public double getFps() {
+        return fps;
+    }
+
+    /**
+     * Gets the allocation rate of the render and simulation threads since the previous summary.
+     *
+     * @return The allocation rate in bytes per second.
+     */
+    public long getAllocationRate() {
+        return allocationRate;
+    }
+
+    /**
+     * Gets the number of garbage collections since the start.
+     *
+     * @return The collection count.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Gets the time spent in garbage collection since the start.
+     *
+     * @return The collection time in milliseconds.
+     */
+    public long getGcTime() {
+        return gcTime;
+    }
+
+    /**
+     * Gets the number of collections since the previous summary.
+     *
+     * @return The collection count.
+     */
+    public long getGcRecentCount() {
+        return gcRecentCount;
+    }
+
+    /**
+     * Gets the time spent collecting since the previous summary.
+     *
+     * @return The collection time in milliseconds.
+     */
+    public long getGcRecentTime() {
+        return gcRecentTime;
+    }
+
+    /**
+     * Gets the key-to-screen latency of the latest key event.
+     *
+     * @return The latency in nanoseconds, 0 before the first key event.
+     */
+    public long getInputLatency() {
+        return inputLatency;
+    }
+
+    /**
+     * Gets the highest key-to-screen latency since the start.
+     *
+     * @return The maximum latency in nanoseconds.
+     */
+    public long getInputLatencyMax() {
+        return inputLatencyMax;
+    }
+
+    /**
+     * Gets the average time the render backend took to show a frame since the start.
+     *
+     * @return The average presentation time in nanoseconds.
+     */
+    public long getPresentAverage() {
+        return presentAverage;
+    }
+
+    /**
+     * Gets the longest time the render backend took to show a frame since the start.
+     *
+     * @return The maximum presentation time in nanoseconds.
+     */
+    public long getPresentMax() {
+        return presentMax;
+    }
+
+    /**
+     * Gets the render quality level of the last frame.
+     *
+     * @return The QualityGovernor level, 0 for full quality.
+     */
+    public int getQualityLevel() {
+        return qualityLevel;
+    }
+}
@@ -0,0 +1,222 @@
+package game.component;
+
+/**
+ * The GameConfig class reads the optional game settings from Java system properties,
+ * e.g. {@code java -Dstargalaxy.spriteAngles=128 game.main.Main}.
+ * Every setting has a default so the game runs without any configuration.
+ */
+public final class GameConfig {
+
+    private GameConfig() {
+    }
+
+    /**
+     * Gets the number of pre-rendered rotation angles per sprite, or 0 to rotate sprites while drawing.
+     *
+     * @return The number of sprite angles.
+     */
+    public static int getSpriteAngles() {
+        return Integer.getInteger("stargalaxy.spriteAngles", 360);
+    }
+
+    /**
+     * Gets the memory cap for pre-rendered sprites in megabytes.
+     *
+     * @return The sprite cache size in megabytes.
+     */
+    public static int getSpriteCacheMegabytes() {
+        return Integer.getInteger("stargalaxy.spriteCacheMB", 32);
+    }
+
+    /**
+     * Gets the rendering backend: bufferstrategy, volatile or image.
+     * Unavailable backends fall back to the next one in that order.
+     *
+     * @return The backend name.
+     */
+    public static String getRenderer() {
+        return System.getProperty("stargalaxy.renderer", "bufferstrategy");
+    }
+
+    /**
+     * Gets the file to record the session into, or null to not record.
+     *
+     * @return The replay file to write.
+     */
+    public static String getRecordFile() {
+        return System.getProperty("stargalaxy.record");
+    }
+
+    /**
+     * Gets the file of a recorded session to play instead of the keyboard, or null to play normally.
+     *
+     * @return The replay file to read.
+     */
+    public static String getReplayFile() {
+        return System.getProperty("stargalaxy.replay");
+    }
+
+    /**
+     * Gets the rocket wave script (see Wave), or null for the normal waves.
+     *
+     * @return The wave script.
+     */
+    public static String getWaveScript() {
+        return System.getProperty("stargalaxy.waves");
+    }
+
+    /**
+     * Checks whether the game runs the stress test instead of the normal rocket waves.
+     *
+     * @return true to run the stress test.
+     */
+    public static boolean isStressTest() {
+        return Boolean.getBoolean("stargalaxy.stress");
+    }
+
+    /**
+     * Gets the number of rocket waves per second in the stress test.
+     *
+     * @return The wave rate.
+     */
+    public static double getStressWaveRate() {
+        return getDouble("stargalaxy.stress.waveRate", 5);
+    }
+
+    /**
+     * Gets the number of rockets in the first stress test wave. It grows at every ramp step.
+     *
+     * @return The initial burst size.
+     */
+    public static int getStressBurst() {
+        return Integer.getInteger("stargalaxy.stress.burst", 4);
+    }
+
+    /**
+     * Gets the number of extra bullets the stress test player fires per tick in the first step,
+     * spread around it. It grows with the wave size at every ramp step; fractions carry over between ticks.
+     *
+     * @return The initial bullet rate.
+     */
+    public static double getStressBulletRate() {
+        return getDouble("stargalaxy.stress.bullets", 0.5);
+    }
+
+    /**
+     * Gets the speed of the stress test rockets.
+     *
+     * @return The distance a rocket moves per tick.
+     */
+    public static float getStressSpeed() {
+        return (float) getDouble("stargalaxy.stress.speed", 0.3);
+    }
+
+    /**
+     * Gets the HP of the stress test rockets.
+     *
+     * @return The rocket HP.
+     */
+    public static double getStressHp() {
+        return getDouble("stargalaxy.stress.hp", 20);
+    }
+
+    /**
+     * Gets the frame time budget of the stress test in milliseconds.
+     * The test stops ramping up when frames take longer than this.
+     *
+     * @return The frame budget in milliseconds.
+     */
+    public static double getStressBudgetMillis() {
+        return getDouble("stargalaxy.stress.budgetMs", 1000.0 / 60);
+    }
+
+    /**
+     * Gets the factor the stress test wave size grows by at every ramp step.
+     *
+     * @return The ramp factor, greater than 1.
+     */
+    public static double getStressRamp() {
+        return getDouble("stargalaxy.stress.ramp", 1.5);
+    }
+
+    /**
+     * Checks whether explosions are drawn from pre-rendered sprite frames (stargalaxy.effects=sprites)
+     * instead of simulated particles (stargalaxy.effects=particles, the default).
+     *
+     * @return true for sprite explosions.
+     */
+    public static boolean isSpriteExplosions() {
+        return "sprites".equals(System.getProperty("stargalaxy.effects", "particles"));
+    }
+
+    /**
+     * Gets the number of bullets from which the collision phase tests them in parallel on the common
+     * ForkJoinPool, or 0 to always test them on the simulation thread. Both ways give the same result.
+     * The tests never run in parallel when the common pool has a single worker, e.g. on one CPU.
+     *
+     * @return The minimum bullet count of a parallel collision phase.
+     */
+    public static int getParallelCollisionBullets() {
+        return Integer.getInteger("stargalaxy.parallelCollisionBullets", 1024);
+    }
+
+    /**
+     * Gets the internal render scale: the world is drawn at this fraction of the window size and stretched
+     * over the window, e.g. 0.5, 0.75 or 1 (the default, full resolution).
+     *
+     * @return The render scale, greater than 0 and at most 1.
+     */
+    public static double getRenderScale() {
+        double scale = getDouble("stargalaxy.renderScale", 1);
+        if (!(scale > 0 && scale <= 1)) {
+            System.err.println("Invalid value for stargalaxy.renderScale: " + scale);
+            return 1;
+        }
+        return scale;
+    }
+
+    /**
+     * Checks whether the score, the game over text and the debug overlay are drawn at the window
+     * resolution on top of a scaled world (the default), instead of being scaled with it.
+     *
+     * @return true to draw the HUD at native resolution.
+     */
+    public static boolean isNativeHud() {
+        return Boolean.parseBoolean(System.getProperty("stargalaxy.nativeHud", "true"));
+    }
+
+    /**
+     * Gets the fixed render quality level (see QualityGovernor), or -1 to let the governor adapt
+     * the level to the frame times (stargalaxy.quality=auto, the default).
+     *
+     * @return The quality level between 0 (full) and QualityGovernor.MAX_LEVEL, or -1 for auto.
+     */
+    public static int getQualityLevel() {
+        String value = System.getProperty("stargalaxy.quality", "auto");
+        if (!"auto".equals(value)) {
+            try {
+                int level = Integer.parseInt(value);
+                if (level >= 0 && level <= QualityGovernor.MAX_LEVEL) {
+                    return level;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            System.err.println("Invalid value for stargalaxy.quality: " + value);
+        }
+        return -1;
+    }
+
+    private static double getDouble(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,904 @@
+package game.component;
+
+import game.collision.Collision;
+import game.collision.SpatialGrid;
+import game.collision.TransformedHull;
+import game.jfr.CollisionEvent;
+import game.jfr.EffectBurstEvent;
+import game.obj.BulletBuffer;
+import game.obj.Explosion;
+import game.obj.ExplosionBuffer;
+import game.obj.GameRandom;
+import game.obj.ParticleEngine;
+import game.obj.Player;
+import game.obj.Rocket;
+import game.obj.sound.Sound;
+import game.replay.ReplayRecorder;
+import game.wave.Wave;
+import game.wave.WaveScheduler;
+
+import java.awt.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * GameWorld holds the state of a game (player, rockets, bullets, effects and score)
+ * and the simulation logic that advances it by one fixed tick at a time.
+ * It does not depend on a window: the world size is injected, input is read from a Key object
+ * that can be driven by the keyboard or by a script, and the sound can be silent.
+ * This lets the same logic run inside PanelGame or headless, as fast as the CPU allows.
+ *
+ * The simulation is deterministic: all randomness comes from one seeded GameRandom and the keys are
+ * sampled once at the start of every tick. The same seed and the same key state per tick always
+ * produce the same game, which is what recording and replaying a session relies on.
+ *
+ * Rockets live in an EntityRegistry: adding and removing them during a tick only queues a command,
+ * and all commands are applied at the end of the tick. Other threads read the published views and
+ * never see a list in the middle of a change. Explosions are emitted into a ParticleEngine or, in the
+ * low-cost sprite mode, kept in an ExplosionBuffer and drawn from pre-rendered frames.
+ *
+ * A render thread never reads the entities themselves: after {@link #enableSnapshots()} every tick ends by
+ * copying the renderable state into a WorldSnapshot, and {@link #getSnapshot()} returns the latest complete one.
+ */
+public class GameWorld {
+
+    // Simulation settings: all game logic advances in fixed ticks
+    public static final int TICK_RATE = 200; // Simulation steps per second
+    public static final float TICK_MS = 1000f / TICK_RATE; // Duration of one step in milliseconds
+    private static final float BULLET_SPEED = 3f * TICK_MS; // Bullets move 3 pixels per millisecond
+    private static final int SPAWN_TICKS = (int) (3000 / TICK_MS); // Delay between rocket spawns
+    public static final String DEFAULT_WAVES = "at=0 side=both every=" + SPAWN_TICKS; // A pair of rockets every 3 seconds
+
+    // Broad phase for collision detection, rebuilt from the rockets every tick
+    private static final double GRID_CELL_SIZE = 64;
+    private final SpatialGrid<Rocket> rocketGrid;
+
+    // Parallel narrow phase for many bullets: each worker thread queries the grid with its own state
+    private final ThreadLocal<SpatialGrid.Query> rocketQueries;
+    private Rocket[] bulletHits = new Rocket[0]; // First rocket hit by each bullet, filled by CollisionTask
+    private int parallelBullets = GameConfig.getParallelCollisionBullets();
+
+    // The explosion preset of destroyed rockets and of the player
+    static final Explosion EXPLOSION = new Explosion(TICK_MS);
+
+    // Simulation phases, in the order they run in a tick
+    public static final int PHASE_INPUT = 0;
+    public static final int PHASE_PLAYER = 1;
+    public static final int PHASE_ROCKETS = 2;
+    public static final int PHASE_BULLETS = 3;
+    public static final int PHASE_COLLISIONS = 4;
+    public static final int PHASE_EFFECTS = 5;
+    public static final int PHASE_SPAWNING = 6;
+    public static final String[] PHASE_NAMES = {"input", "player", "rockets", "bullets", "collisions", "effects", "spawning"};
+    private final long[] phaseTimes = new long[PHASE_NAMES.length]; // Duration of each phase in the last tick, in nanoseconds
+
+    private final int width;
+    private final int height;
+    private final Key key; // Object to manage keyboard input
+    private final Key input = new Key(); // Keys sampled at the start of the current tick
+    private InputQueue inputQueue; // Keyboard events applied to the key state every tick, or null
+    private volatile long inputTime; // Receive time of the oldest key event applied by the last tick that changed a key, 0 if none
+    private final Sound sound;
+    private final long seed; // Seed the random generator started from
+    private final GameRandom random; // Source of all randomness in the simulation
+    private long tickCount; // Number of ticks simulated so far
+    private ReplayRecorder recorder; // Records the sampled keys, or null when not recording
+    private StressTest stressTest; // Replaces the normal waves, or null
+    private String waveScript = DEFAULT_WAVES;
+    private WaveScheduler waves; // Spawns the rocket waves of the script
+    private int shotTime; // Counter to manage shooting rate
+    private int score = 0;
+    private int pairsTested; // Narrow phase tests in the current collision phase
+    private int hits; // Collisions found in the current collision phase
+
+    // Game Objects
+    private final Player player;
+    private final BulletBuffer bullets;
+    private final EntityRegistry<Rocket> rockets;
+    private final ParticleEngine particles;
+    private final ExplosionBuffer explosions; // Explosions drawn from sprites
+    private boolean spriteExplosions = GameConfig.isSpriteExplosions();
+    private boolean restartPending; // Whether the game restarts at the end of the tick
+
+    // Renderable state handed to the render thread, or null when nothing renders concurrently
+    private TripleBuffer<WorldSnapshot> snapshots;
+    private WorldSnapshot drawSnapshot; // Used by draw() on the calling thread
+
+    /**
+     * Constructor to create a new game world.
+     *
+     * @param width  The width of the world in pixels.
+     * @param height The height of the world in pixels.
+     * @param key    The input state read at the start of every tick.
+     * @param sound  The sound effects, or a silent Sound for headless runs.
+     */
+    public GameWorld(int width, int height, Key key, Sound sound) {
+        this(width, height, key, sound, System.nanoTime());
+    }
+
+    /**
+     * Constructor to create a new game world with a fixed random seed.
+     *
+     * @param width  The width of the world in pixels.
+     * @param height The height of the world in pixels.
+     * @param key    The input state read at the start of every tick.
+     * @param sound  The sound effects, or a silent Sound for headless runs.
+     * @param seed   The seed of the random generator.
+     */
+    public GameWorld(int width, int height, Key key, Sound sound, long seed) {
+        this.width = width;
+        this.height = height;
+        this.key = key;
+        this.sound = sound;
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        player = new Player();
+        player.changeLocation(650, 350);
+        bullets = new BulletBuffer();
+        rockets = new EntityRegistry<>();
+        particles = new ParticleEngine();
+        EXPLOSION.addColors(particles);
+        explosions = new ExplosionBuffer();
+        rocketGrid = new SpatialGrid<>(0, 0, width, height, GRID_CELL_SIZE);
+        rocketQueries = new ThreadLocal<SpatialGrid.Query>() {
+            @Override
+            protected SpatialGrid.Query initialValue() {
+                return rocketGrid.newQuery();
+            }
+        };
+        setWaveScript(DEFAULT_WAVES);
+    }
+
+    /**
+     * Advances the game by one simulation step.
+     * The phases always run in the same order so that each step sees a consistent world.
+     */
+    public void tick() {
+        long time = System.nanoTime();
+        // Apply the queued keyboard events, then sample the keys once so that the whole tick sees the same input
+        if (inputQueue != null) {
+            long eventTime = inputQueue.drain(key);
+            if (eventTime != 0) {
+                inputTime = eventTime;
+            }
+        }
+        int state = key.getState();
+        if (stressTest != null) {
+            state |= Key.J | Key.RIGHT; // The stress test player keeps turning and firing
+        }
+        input.setState(state);
+        if (recorder != null) {
+            recorder.record(this, state);
+        }
+        updateInput();
+        time = phaseDone(PHASE_INPUT, time);
+        updatePlayer();
+        time = phaseDone(PHASE_PLAYER, time);
+        updateRockets();
+        time = phaseDone(PHASE_ROCKETS, time);
+        updateBullets();
+        time = phaseDone(PHASE_BULLETS, time);
+        checkCollisions();
+        time = phaseDone(PHASE_COLLISIONS, time);
+        updateEffects();
+        time = phaseDone(PHASE_EFFECTS, time);
+        updateSpawner();
+        phaseDone(PHASE_SPAWNING, time);
+        applyChanges();
+        tickCount++;
+        publishSnapshot();
+    }
+
+    /**
+     * Publishes a snapshot of the current state for the render thread, if snapshots are enabled.
+     */
+    private void publishSnapshot() {
+        if (snapshots != null) {
+            snapshots.getBackBuffer().capture(this);
+            snapshots.publish();
+        }
+    }
+
+    /**
+     * Makes every tick publish a snapshot for a render thread.
+     * Must be called before the simulation starts; the first snapshot holds the current state.
+     */
+    public void enableSnapshots() {
+        WorldSnapshot first = new WorldSnapshot();
+        first.capture(this);
+        snapshots = new TripleBuffer<>(first, new WorldSnapshot(), new WorldSnapshot());
+    }
+
+    /**
+     * Gets the latest complete snapshot published by the simulation. Only one render thread may call this,
+     * and the snapshot it returns stays unchanged until its next call.
+     *
+     * @return The latest snapshot.
+     * @throws IllegalStateException If snapshots are not enabled.
+     */
+    public WorldSnapshot getSnapshot() {
+        if (snapshots == null) {
+            throw new IllegalStateException("Snapshots are not enabled");
+        }
+        return snapshots.acquire();
+    }
+
+    /**
+     * The safe point of a tick: restarts the game if requested and applies the queued
+     * entity additions and removals. Runs at the end of every tick; call it directly after
+     * changing the entities outside a tick.
+     */
+    public void applyChanges() {
+        if (restartPending) {
+            restartPending = false;
+            rockets.clear();
+            bullets.clear();
+            player.changeLocation(650, 350);
+            player.reset();
+            sound.resetGameOverFlag();
+            score = 0;
+            waves.restart(); // Cancel the pending spawns and start the waves again
+        }
+        rockets.apply();
+    }
+
+    /**
+     * Records the duration of a phase that started at the given time.
+     *
+     * @return The time the phase ended, which is the start of the next phase.
+     */
+    private long phaseDone(int phase, long startTime) {
+        long now = System.nanoTime();
+        phaseTimes[phase] = now - startTime;
+        return now;
+    }
+
+    /**
+     * Fires one bullet from the center of the player at the normal bullet speed.
+     *
+     * @param angle The direction of the bullet in degrees.
+     * @param size  The size (diameter) of the bullet.
+     */
+    public void fireBullet(float angle, double size) {
+        bullets.add(player.getX(), player.getY(), angle, size, BULLET_SPEED);
+    }
+
+    /**
+     * Adds one rocket to the game.
+     *
+     * @param x     The x-coordinate of the rocket.
+     * @param y     The y-coordinate of the rocket.
+     * @param angle The direction of the rocket in degrees.
+     * @return The new rocket.
+     */
+    public Rocket spawnRocket(double x, double y, float angle) {
+        return spawnRocket(x, y, angle, Rocket.DEFAULT_SPEED, Rocket.DEFAULT_HP);
+    }
+
+    /**
+     * Adds one rocket with a custom speed and HP to the game.
+     *
+     * @param x     The x-coordinate of the rocket.
+     * @param y     The y-coordinate of the rocket.
+     * @param angle The direction of the rocket in degrees.
+     * @param speed The distance the rocket moves per tick.
+     * @param hp    The HP of the rocket.
+     * @return The new rocket.
+     */
+    public Rocket spawnRocket(double x, double y, float angle, float speed, double hp) {
+        Rocket rocket = new Rocket(speed, hp);
+        rocket.changeLocation(x, y);
+        rocket.changeAngel(angle);
+        rockets.add(rocket);
+        return rocket;
+    }
+
+    /**
+     * Input phase: handles shooting and restarting the game.
+     */
+    private void updateInput() {
+        if (player.isAlive()) {
+            if (input.isKey_j() || input.isKey_k()) {
+                if (shotTime == 0) {
+                    if (input.isKey_j()) {
+                        bullets.add(player.getX(), player.getY(), player.getAngle(), 5, BULLET_SPEED);
+                    } else {
+                        bullets.add(player.getX(), player.getY(), player.getAngle(), 20, BULLET_SPEED);
+                    }
+                    sound.soundShoot();
+                }
+                shotTime++;
+                if (shotTime == 15) {
+                    shotTime = 0;
+                }
+            } else {
+                shotTime = 0;
+            }
+        } else {
+            if (input.isKey_enter()) {
+                resetGame();
+            }
+        }
+    }
+
+    /**
+     * Player phase: turns and moves the player.
+     */
+    private void updatePlayer() {
+        if (player.isAlive()) {
+            float s = 0.5f; // Speed of player rotation
+            float angle = player.getAngle();
+            if (input.isKey_left()) {
+                angle -= s;
+            }
+            if (input.isKey_right()) {
+                angle += s;
+            }
+            if (input.isKey_space()) {
+                player.speedUp();
+            } else {
+                player.speedDown();
+            }
+            player.update();
+            player.changeAngel(angle);
+        }
+    }
+
+    /**
+     * Rocket phase: moves the rockets and removes the ones that left the screen.
+     */
+    private void updateRockets() {
+        EntityRegistry.View<Rocket> view = rockets.view();
+        for (int i = 0; i < view.size(); i++) {
+            Rocket rocket = view.get(i);
+            rocket.update();
+            if (!rocket.check(width, height)) {
+                rockets.remove(rocket); // Remove rocket if out of bounds
+            }
+        }
+    }
+
+    /**
+     * Restarts the game after the player died. The restart happens at the end of the current tick,
+     * so the rest of the tick still sees the finished game.
+     */
+    public void resetGame() {
+        restartPending = true;
+    }
+
+    /**
+     * Bullet phase: moves the bullets and removes the ones that left the screen.
+     */
+    private void updateBullets() {
+        bullets.update(width, height); // Bullets out of bounds are marked as dead
+    }
+
+    /**
+     * Collision phase: checks bullets and the player against the rockets.
+     * The rockets are indexed in a uniform grid first, so each test only looks at nearby rockets.
+     * With many bullets the tests run in parallel, see {@link #checkBulletsParallel()}.
+     */
+    public void checkCollisions() {
+        CollisionEvent event = new CollisionEvent();
+        event.begin();
+        int bulletCount = bullets.size();
+        EntityRegistry.View<Rocket> view = rockets.view();
+        int rocketCount = view.size();
+        pairsTested = 0;
+        hits = 0;
+
+        rocketGrid.clear();
+        for (int i = 0; i < view.size(); i++) {
+            Rocket rocket = view.get(i);
+            if (!rocket.check(width, height)) {
+                continue; // Left the screen this tick and is removed at the end of it
+            }
+            TransformedHull hull = rocket.getHull();
+            rocketGrid.add(rocket, hull.getMinX(), hull.getMinY(), hull.getMaxX(), hull.getMaxY());
+        }
+        rocketGrid.build();
+
+        // A pool of one worker only adds task overhead to the serial loop
+        boolean parallel = parallelBullets > 0 && bulletCount >= parallelBullets
+                && ForkJoinPool.getCommonPoolParallelism() > 1;
+        if (parallel) {
+            checkBulletsParallel();
+        } else {
+            for (int i = 0; i < bullets.size(); i++) {
+                if (bullets.isAlive(i)) {
+                    checkBullets(i);
+                }
+            }
+        }
+        bullets.compact(); // Drop the bullets that hit or left the screen
+        if (player.isAlive()) {
+            TransformedHull hull = player.getHull();
+            int count = rocketGrid.query(hull.getMinX(), hull.getMinY(), hull.getMaxX(), hull.getMaxY());
+            for (int i = 0; i < count && player.isAlive(); i++) {
+                checkPlayer(rocketGrid.getResult(i));
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.bullets = bulletCount;
+            event.rockets = rocketCount;
+            event.pairsTested = pairsTested;
+            event.hits = hits;
+            event.parallel = parallel;
+            event.commit();
+        }
+    }
+
+    /**
+     * Effect phase: moves the explosion particles, ages the sprite explosions and removes the finished ones.
+     */
+    private void updateEffects() {
+        particles.update();
+        explosions.update(EXPLOSION.getBurstTicks());
+    }
+
+    /**
+     * Spawning phase: spawns the rocket waves that are due.
+     */
+    private void updateSpawner() {
+        if (stressTest != null) {
+            stressTest.spawn(this);
+            return;
+        }
+        if (player.isAlive()) { // The waves pause while the game is over
+            waves.tick(this);
+        }
+    }
+
+    /**
+     * Checks every live bullet against the rockets on the common ForkJoinPool, with the same result
+     * as calling {@link #checkBullets(int)} for each bullet in order.
+     * The parallel part only finds the first rocket each bullet touches. The hits are then applied here
+     * in bullet order: a rocket destroyed by an earlier bullet cannot be hit again and scores once,
+     * and the later bullet is checked again serially to find the next rocket it touches, if any.
+     */
+    private void checkBulletsParallel() {
+        int bulletCount = bullets.size();
+        if (bulletHits.length < bulletCount) {
+            bulletHits = new Rocket[Math.max(bulletCount, bulletHits.length * 2)];
+        }
+        pairsTested += ForkJoinPool.commonPool().invoke(
+                new CollisionTask(bullets, rocketGrid, rocketQueries, bulletHits, 0, bulletCount));
+
+        for (int i = 0; i < bulletCount; i++) {
+            Rocket rocket = bulletHits[i];
+            if (rocket == null) {
+                continue;
+            }
+            bulletHits[i] = null;
+            if (rocket.getHp() > 0) {
+                hitRocket(i, rocket);
+            } else {
+                checkBullets(i); // The rocket was destroyed earlier in this tick
+            }
+        }
+    }
+
+    /**
+     * Checks for collisions between bullets and rockets.
+     *
+     * @param bullet The slot of the bullet to check for collisions.
+     */
+    public void checkBullets(int bullet) {
+        // Iterate through the nearby rockets to check for collisions with the bullet
+        double size = bullets.getSize(bullet);
+        double bulletX = bullets.getX(bullet);
+        double bulletY = bullets.getY(bullet);
+        int count = rocketGrid.query(bulletX, bulletY, bulletX + size, bulletY + size);
+        for (int i = 0; i < count; i++) {
+            Rocket rocket = rocketGrid.getResult(i);
+            if (rocket.getHp() > 0) { // Skip rockets destroyed earlier in this tick
+                // Test the bullet's circle against the rocket's convex hull
+                boolean hit = Collision.circleIntersectsPolygon(bullets.getCenterX(bullet), bullets.getCenterY(bullet), size / 2, rocket.getHull());
+                pairsTested++;
+
+                // If the bullet and rocket intersect, create explosion effects and remove the rocket
+                if (hit) {
+                    hitRocket(bullet, rocket);
+                    break; // Exit the loop after processing the collision
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the hit of a bullet on a rocket: damages or destroys the rocket and removes the bullet.
+     *
+     * @param bullet The slot of the bullet.
+     * @param rocket The rocket it hit, still alive.
+     */
+    private void hitRocket(int bullet, Rocket rocket) {
+        hits++;
+
+        if (!rocket.updateHP(bullets.getSize(bullet))) { // The condition is always true; this if statement seems redundant
+            score++;
+            rockets.remove(rocket); // Remove the rocket at the end of the tick
+            sound.soundDestroy();
+            // Explode at the bullet's location and around the rocket's center
+            addBoomEffects(bullets.getCenterX(bullet), bullets.getCenterY(bullet),
+                    rocket.getX() + Rocket.ROCKET_SIZE / 2, rocket.getY() + Rocket.ROCKET_SIZE / 2);
+        }else{
+            sound.soundHit();
+        }
+        bullets.kill(bullet); // Remove the bullet after the collision
+    }
+
+    /**
+     * Checks for collisions between bullets and rockets.
+     *
+     * @param rocket The rocket to check for collisions.
+     */
+    public void checkPlayer(Rocket rocket) {
+            if (rocket.getHp() > 0) { // Skip rockets destroyed earlier in this tick
+                // Test the player's convex hull against the rocket's convex hull
+                boolean hit = Collision.polygonsIntersect(player.getHull(), rocket.getHull());
+                pairsTested++;
+                // If the player and rocket intersect, create explosion effects and remove the rocket
+                if (hit) {
+                    hits++;
+                    double rocketHp = rocket.getHp();
+                    if (!rocket.updateHP(player.getHp())) { // The condition is always true; this if statement seems redundant
+                        rockets.remove(rocket); // Remove the rocket at the end of the tick
+                        sound.soundDestroy();
+                        addBoomEffects(rocket.getX(), rocket.getY(),
+                                rocket.getX() + Rocket.ROCKET_SIZE / 2, rocket.getY() + Rocket.ROCKET_SIZE / 2);
+                    }
+                    if (stressTest == null && !player.updateHP(rocketHp)) { // The stress test player cannot die
+                        player.setAlive(false);
+                        sound.soundDestroy();
+                        sound.soundGameOver();
+                        addBoomEffects(player.getX(), player.getY(),
+                                player.getX() + Player.PLAYER_SIZE / 2, player.getY() + Player.PLAYER_SIZE / 2);
+                    }
+                }
+
+            }
+
+    }
+
+    /**
+     * Adds the explosion preset: a flash at the hit location followed by several
+     * layers of particles around the center of the destroyed object.
+     * In sprite mode the explosion is one entry with a random pattern variant instead.
+     *
+     * @param hitX    The x-coordinate of the hit.
+     * @param hitY    The y-coordinate of the hit.
+     * @param centerX The x-coordinate of the destroyed object's center.
+     * @param centerY The y-coordinate of the destroyed object's center.
+     */
+    public void addBoomEffects(double hitX, double hitY, double centerX, double centerY) {
+        EffectBurstEvent event = new EffectBurstEvent();
+        event.begin();
+        int before = particles.size();
+        if (spriteExplosions) {
+            explosions.add(hitX, hitY, centerX, centerY, random.nextInt(Explosion.VARIANTS));
+        } else {
+            EXPLOSION.emitFlash(particles, hitX, hitY, random);
+            EXPLOSION.emitBurst(particles, centerX, centerY, random);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.created = particles.size() - before;
+            event.alive = particles.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Draws the player, bullets, rockets and explosion effects of the current state.
+     * Only the simulation thread may call this, between two ticks; a separate render thread
+     * draws {@link #getSnapshot()} instead.
+     *
+     * @param g2 The Graphics2D object used for drawing.
+     */
+    public void draw(Graphics2D g2) {
+        if (drawSnapshot == null) {
+            drawSnapshot = new WorldSnapshot();
+        }
+        drawSnapshot.capture(this);
+        drawSnapshot.draw(g2);
+    }
+
+    /**
+     * Writes the whole simulation state: counters, random state, player, bullets, rockets and particles.
+     * Restoring it with {@link #readState(DataInput)} continues the game exactly where it was.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(tickCount);
+        out.writeLong(random.getState());
+        out.writeInt(score);
+        out.writeInt(shotTime);
+        waves.writeState(out);
+        player.writeState(out);
+        bullets.writeState(out);
+        EntityRegistry.View<Rocket> rocketView = rockets.view();
+        out.writeInt(rocketView.size());
+        for (int i = 0; i < rocketView.size(); i++) {
+            rocketView.get(i).writeState(out);
+        }
+        particles.writeState(out);
+        explosions.writeState(out);
+    }
+
+    /**
+     * Restores the simulation state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The input to read from.
+     * @throws IOException If the input cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        tickCount = in.readLong();
+        random.setState(in.readLong());
+        score = in.readInt();
+        shotTime = in.readInt();
+        waves.readState(in);
+        player.readState(in);
+        bullets.readState(in);
+        rockets.clear();
+        for (int i = in.readInt(); i > 0; i--) {
+            Rocket rocket = new Rocket();
+            rocket.readState(in);
+            rockets.add(rocket);
+        }
+        particles.readState(in);
+        explosions.readState(in);
+        restartPending = false;
+        rockets.apply();
+        publishSnapshot();
+    }
+
+    /**
+     * Sets the recorder that receives the sampled keys of every tick.
+     *
+     * @param recorder The recorder, or null to stop recording.
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Sets the queue of keyboard events applied to the key state at the start of every tick.
+     *
+     * @param inputQueue The queue, or null when the keys are set directly, e.g. by a script.
+     */
+    public void setInputQueue(InputQueue inputQueue) {
+        this.inputQueue = inputQueue;
+    }
+
+    /**
+     * Gets the queue of keyboard events applied at the start of every tick.
+     *
+     * @return The queue, or null if the keys are set directly.
+     */
+    public InputQueue getInputQueue() {
+        return inputQueue;
+    }
+
+    /**
+     * Gets the receive time of the oldest keyboard event applied by the last tick that changed a key.
+     * Several events can change keys in one tick; the oldest one waited longest for it.
+     *
+     * @return The System.nanoTime() of the event, or 0 if no event was applied yet.
+     */
+    public long getInputTime() {
+        return inputTime;
+    }
+
+    /**
+     * Replaces the wave script and starts it from the beginning. See Wave for the script format.
+     *
+     * @param script The wave script.
+     * @throws IllegalArgumentException If the script cannot be parsed.
+     */
+    public void setWaveScript(String script) {
+        WaveScheduler scheduler = new WaveScheduler(Wave.parseScript(script));
+        scheduler.restart();
+        waves = scheduler;
+        waveScript = script;
+    }
+
+    /**
+     * Gets the wave script.
+     *
+     * @return The script text.
+     */
+    public String getWaveScript() {
+        return waveScript;
+    }
+
+    /**
+     * Gets the scheduler spawning the rocket waves, e.g. to add waves or change their speed.
+     *
+     * @return The wave scheduler.
+     */
+    public WaveScheduler getWaves() {
+        return waves;
+    }
+
+    /**
+     * Replaces the normal rocket waves with a stress test.
+     * Must be set before the simulation starts.
+     *
+     * @param stressTest The stress test, or null for the normal waves.
+     */
+    public void setStressTest(StressTest stressTest) {
+        this.stressTest = stressTest;
+    }
+
+    /**
+     * Checks whether a stress test replaces the normal rocket waves.
+     *
+     * @return true if a stress test runs.
+     */
+    public boolean isStressTest() {
+        return stressTest != null;
+    }
+
+    /**
+     * Sets the number of bullets from which the collision phase runs in parallel.
+     * The phase stays on the simulation thread while the common pool has a single worker.
+     *
+     * @param bullets The minimum bullet count, or 0 to always run on the simulation thread.
+     */
+    public void setParallelCollisionBullets(int bullets) {
+        this.parallelBullets = bullets;
+    }
+
+    /**
+     * Chooses between simulated particle explosions and explosions drawn from pre-rendered frames.
+     * The choice changes the simulation, so replays record it; set it before the simulation starts.
+     *
+     * @param spriteExplosions true for sprite explosions.
+     */
+    public void setSpriteExplosions(boolean spriteExplosions) {
+        this.spriteExplosions = spriteExplosions;
+    }
+
+    /**
+     * Checks whether explosions are drawn from pre-rendered frames.
+     *
+     * @return true for sprite explosions, false for simulated particles.
+     */
+    public boolean isSpriteExplosions() {
+        return spriteExplosions;
+    }
+
+    /**
+     * Gets the random generator of the simulation. Only the simulation thread may use it.
+     *
+     * @return The random generator.
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets the number of ticks simulated so far.
+     *
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the seed the random generator started from.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the duration of a simulation phase in the last tick.
+     *
+     * @param phase One of the PHASE constants.
+     * @return The duration in nanoseconds.
+     */
+    public long getPhaseTime(int phase) {
+        return phaseTimes[phase];
+    }
+
+    /**
+     * Gets the player.
+     *
+     * @return The player.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the bullets.
+     *
+     * @return The bullet buffer.
+     */
+    public BulletBuffer getBullets() {
+        return bullets;
+    }
+
+    /**
+     * Gets the rockets.
+     *
+     * @return The registry of the live rockets.
+     */
+    public EntityRegistry<Rocket> getRockets() {
+        return rockets;
+    }
+
+    /**
+     * Gets the explosions drawn from sprites.
+     *
+     * @return The explosion buffer.
+     */
+    public ExplosionBuffer getExplosions() {
+        return explosions;
+    }
+
+    /**
+     * Gets the explosion particles.
+     *
+     * @return The particle engine.
+     */
+    public ParticleEngine getParticles() {
+        return particles;
+    }
+
+    /**
+     * Gets the score.
+     *
+     * @return The number of rockets destroyed by bullets.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the input state read by the simulation.
+     *
+     * @return The key state.
+     */
+    public Key getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the sound effects of the world.
+     *
+     * @return The sound.
+     */
+    public Sound getSound() {
+        return sound;
+    }
+
+    /**
+     * Gets the width of the world.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the world.
+     *
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+}
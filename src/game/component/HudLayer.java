@@ -0,0 +1,127 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * The HudLayer class draws the score and the game over screen from text rendered into cached images.
+ * The fonts are derived and the game over panel with its key hint is laid out and rendered once;
+ * the score is only rendered again when its value changes. A steady frame then costs one image blit
+ * for the score, plus two while the game is over, without deriving fonts, measuring strings or
+ * building strings.
+ */
+public class HudLayer {
+
+    private static final String GAME_OVER = "GAME OVER";
+    private static final String KEY_HINT = "Press Key enter to Continue";
+
+    private final Font scoreFont;
+    private final Font finalScoreFont;
+    private final FontRenderContext frc;
+    private final int scoreAscent; // Height of the score text above its baseline
+    private final int width;
+
+    // Static game over panel: the title and the key hint, with room for the final score between them
+    private final BufferedImage gameOverPanel;
+    private final int panelX;
+    private final int panelY;
+    private final int finalScoreY; // Top of the final score line
+
+    // Text rendered again when the score changes; -1 means not rendered yet
+    private BufferedImage scoreImage;
+    private int scoreValue = -1;
+    private BufferedImage finalScoreImage;
+    private int finalScoreValue = -1;
+
+    /**
+     * Constructor to lay out the HUD and render its static text.
+     *
+     * @param font   The base font of the game panel.
+     * @param width  The width of the frame.
+     * @param height The height of the frame.
+     */
+    public HudLayer(Font font, int width, int height) {
+        this.width = width;
+        this.scoreFont = font.deriveFont(Font.BOLD, 15f);
+        this.finalScoreFont = font.deriveFont(Font.BOLD, 25f);
+        Font titleFont = font.deriveFont(Font.BOLD, 50f);
+        Font hintFont = font.deriveFont(Font.BOLD, 15f);
+        Graphics2D context = createGraphics(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE));
+        frc = context.getFontRenderContext();
+        context.dispose();
+        scoreAscent = (int) scoreFont.getLineMetrics("Score: 0", frc).getAscent();
+
+        // Same layout as the text drawn directly: the title centered on the screen, the score 20 pixels
+        // below it and the key hint 30 pixels below the score, each centered horizontally
+        Rectangle2D title = titleFont.getStringBounds(GAME_OVER, frc);
+        Rectangle2D hint = hintFont.getStringBounds(KEY_HINT, frc);
+        double titleY = (height - title.getHeight()) / 2;
+        finalScoreY = (int) (titleY + title.getHeight() + 20);
+        double hintY = finalScoreY + hint.getHeight() + 30;
+        int hintBottom = (int) Math.ceil(hintY + hint.getHeight());
+
+        panelX = (int) Math.min((width - title.getWidth()) / 2, (width - hint.getWidth()) / 2);
+        panelY = (int) titleY;
+        int panelWidth = (int) Math.ceil(Math.max(title.getWidth(), hint.getWidth())) + 2;
+        gameOverPanel = new BufferedImage(panelWidth, hintBottom - panelY + 2, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2 = createGraphics(gameOverPanel);
+        g2.translate(-panelX, -panelY);
+        g2.setFont(titleFont);
+        g2.drawString(GAME_OVER, (int) ((width - title.getWidth()) / 2),
+                (int) (titleY + titleFont.getLineMetrics(GAME_OVER, frc).getAscent()));
+        g2.setFont(hintFont);
+        g2.drawString(KEY_HINT, (int) ((width - hint.getWidth()) / 2),
+                (int) (hintY + hintFont.getLineMetrics(KEY_HINT, frc).getAscent()));
+        g2.dispose();
+    }
+
+    /**
+     * Draws the score, and the game over screen if the player is dead.
+     *
+     * @param g2       The Graphics2D object used for drawing.
+     * @param score    The score to show.
+     * @param gameOver true to draw the game over screen.
+     */
+    public void draw(Graphics2D g2, int score, boolean gameOver) {
+        if (score != scoreValue) {
+            scoreValue = score;
+            scoreImage = renderText("Score: " + score, scoreFont);
+        }
+        g2.drawImage(scoreImage, 10, 20 - scoreAscent, null);
+
+        if (gameOver) {
+            if (score != finalScoreValue) {
+                finalScoreValue = score;
+                finalScoreImage = renderText("SCORE: " + score, finalScoreFont);
+            }
+            g2.drawImage(gameOverPanel, panelX, panelY, null);
+            g2.drawImage(finalScoreImage, (width - finalScoreImage.getWidth()) / 2, finalScoreY, null);
+        }
+    }
+
+    /**
+     * Renders a line of white text into an image just large enough for it, with the top of the line
+     * at the top of the image.
+     */
+    private BufferedImage renderText(String text, Font font) {
+        Rectangle2D bounds = font.getStringBounds(text, frc);
+        LineMetrics metrics = font.getLineMetrics(text, frc);
+        BufferedImage image = new BufferedImage((int) Math.ceil(bounds.getWidth()) + 2,
+                (int) Math.ceil(bounds.getHeight()) + 2, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2 = createGraphics(image);
+        g2.setFont(font);
+        g2.drawString(text, 0, (int) metrics.getAscent());
+        g2.dispose();
+        return image;
+    }
+
+    private static Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(Color.WHITE);
+        return g2;
+    }
+}
@@ -0,0 +1,62 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The ImageBackend class draws each frame into a BufferedImage and copies it onto a component.
+ * It is the fallback when no accelerated backend is available. Without a component the frames
+ * are only drawn into the image, which is used to render offscreen.
+ */
+public class ImageBackend extends RenderBackend {
+
+    private final Component component;
+    private final BufferedImage image;
+
+    /**
+     * Constructor to create the back buffer.
+     *
+     * @param component The component the frames are shown on, or null to render offscreen.
+     * @param width     The width of the frame.
+     * @param height    The height of the frame.
+     */
+    public ImageBackend(Component component, int width, int height) {
+        this.component = component;
+        GraphicsConfiguration gc = component == null ? null : component.getGraphicsConfiguration();
+        this.image = gc == null
+                ? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+                : gc.createCompatibleImage(width, height);
+    }
+
+    @Override
+    public Graphics2D beginFrame() {
+        return image.createGraphics();
+    }
+
+    @Override
+    protected boolean show(Graphics2D g2) {
+        g2.dispose();
+        if (component != null) {
+            Graphics g = component.getGraphics();
+            if (g != null) {
+                g.drawImage(image, 0, 0, null);
+                g.dispose();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return component == null ? "offscreen image" : "image";
+    }
+
+    /**
+     * Gets the image the frames are drawn into.
+     *
+     * @return The back buffer.
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+}
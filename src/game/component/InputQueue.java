@@ -0,0 +1,137 @@
+package game.component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The InputQueue class passes key presses and releases from the event dispatch thread to the simulation
+ * thread through a single-producer/single-consumer ring buffer. Every event carries the System.nanoTime()
+ * at which the key listener received it.
+ *
+ * The producer writes an event into its slot and then publishes the new tail with a release store
+ * (lazySet); the consumer reads the events up to the tail and hands the slots back the same way through
+ * the head. Neither side takes a lock or allocates.
+ *
+ * The simulation drains the queue at the start of every tick with {@link #drain(Key)}. A key changes at most
+ * once per tick: an edge of a key that already changed in this tick, and every event after it, wait for
+ * the next tick. A tap shorter than a tick is therefore held for exactly one tick instead of being missed,
+ * and every press and release reaches the simulation in order.
+ */
+public class InputQueue {
+
+    private static final int PRESSED = 1 << 31; // Flag of a press event; the other bits are the Key bit
+
+    private final int mask;
+    private final int[] events;
+    private final long[] times;
+    private final AtomicLong head = new AtomicLong(); // Next event to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write, written by the producer
+    private final AtomicLong dropped = new AtomicLong(); // Events lost because the queue was full
+
+    // Time from an event to the tick that applied it, written by the consumer
+    private volatile long lastLatency;
+    private volatile long maxLatency;
+
+    /**
+     * Constructor to create an empty queue.
+     *
+     * @param capacity The number of events the queue holds, a power of two.
+     */
+    public InputQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two: " + capacity);
+        }
+        mask = capacity - 1;
+        events = new int[capacity];
+        times = new long[capacity];
+    }
+
+    /**
+     * Adds a key event. Only one thread may add events.
+     *
+     * @param key     The Key bit of the key (Key.LEFT, Key.RIGHT, ...).
+     * @param pressed true for a press, false for a release.
+     * @param time    The System.nanoTime() the event was received at.
+     * @return true if the event was added, false if the queue was full.
+     */
+    public boolean offer(int key, boolean pressed, long time) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.lazySet(dropped.get() + 1);
+            return false;
+        }
+        int slot = (int) t & mask;
+        events[slot] = pressed ? key | PRESSED : key;
+        times[slot] = time;
+        tail.lazySet(t + 1); // Publish the slot after it is written
+        return true;
+    }
+
+    /**
+     * Applies the queued events to a key state, at most one change per key, and removes them from the queue.
+     * Only one thread may drain the queue.
+     *
+     * @param key The key state of the simulation.
+     * @return The receive time of the oldest event that changed a key, or 0 if no key changed.
+     */
+    public long drain(Key key) {
+        long now = System.nanoTime();
+        int state = key.getState();
+        int changed = 0;
+        long oldest = 0;
+        long h = head.get();
+        long t = tail.get();
+        while (h < t) {
+            int slot = (int) h & mask;
+            int bit = events[slot] & ~PRESSED;
+            boolean pressed = (events[slot] & PRESSED) != 0;
+            if (((state & bit) != 0) != pressed) {
+                if ((changed & bit) != 0) {
+                    break; // The second edge of this key waits for the next tick
+                }
+                state ^= bit;
+                changed |= bit;
+                if (oldest == 0) {
+                    oldest = times[slot];
+                }
+                long latency = now - times[slot];
+                lastLatency = latency;
+                if (latency > maxLatency) {
+                    maxLatency = latency;
+                }
+            }
+            h++; // Repeated presses of a held key change nothing and are consumed
+        }
+        head.lazySet(h); // Hand the slots back to the producer
+        if (changed != 0) {
+            key.setState(state);
+        }
+        return oldest;
+    }
+
+    /**
+     * Gets the time between the last applied event and the start of the tick that applied it.
+     *
+     * @return The latency in nanoseconds.
+     */
+    public long getLastLatency() {
+        return lastLatency;
+    }
+
+    /**
+     * Gets the longest time between an event and the start of the tick that applied it.
+     *
+     * @return The maximum latency in nanoseconds.
+     */
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * Gets the number of events lost because the simulation did not drain the queue in time.
+     *
+     * @return The dropped event count.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
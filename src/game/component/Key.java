@@ -1,11 +1,22 @@
 package game.component;
 
+import java.awt.event.KeyEvent;
+
 /**
  * The Key class manages the state of various keyboard keys.
  * It provides methods to check and set the status of keys used for controlling the game.
+ * The state is only used by the simulation thread: keyboard events reach it through an InputQueue.
  */
 public class Key {
 
+    // Bits of the packed key state, see getState()
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int SPACE = 1 << 2;
+    public static final int J = 1 << 3;
+    public static final int K = 1 << 4;
+    public static final int ENTER = 1 << 5;
+
     // Key state attributes
     private boolean key_right; // State of the right arrow key
     private boolean key_left;  // State of the left arrow key
@@ -121,4 +132,58 @@ public class Key {
     public void setKey_k(boolean key_k) {
         this.key_k = key_k;
     }
+
+    /**
+     * Gets the key bit a keyboard key controls.
+     *
+     * @param keyCode The KeyEvent key code.
+     * @return The key bit (LEFT, RIGHT, SPACE, J, K, ENTER), or 0 if the key is not used by the game.
+     */
+    public static int fromKeyCode(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_A:
+            case KeyEvent.VK_LEFT:
+                return LEFT;
+            case KeyEvent.VK_D:
+            case KeyEvent.VK_RIGHT:
+                return RIGHT;
+            case KeyEvent.VK_SPACE:
+            case KeyEvent.VK_UP:
+                return SPACE;
+            case KeyEvent.VK_J:
+            case KeyEvent.VK_CONTROL:
+                return J;
+            case KeyEvent.VK_K:
+            case KeyEvent.VK_ALT:
+                return K;
+            case KeyEvent.VK_ENTER:
+                return ENTER;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Gets the state of all keys packed into one int, one bit per key.
+     *
+     * @return The key bits (LEFT, RIGHT, SPACE, J, K, ENTER).
+     */
+    public int getState() {
+        return (key_left ? LEFT : 0) | (key_right ? RIGHT : 0) | (key_space ? SPACE : 0)
+                | (key_j ? J : 0) | (key_k ? K : 0) | (key_enter ? ENTER : 0);
+    }
+
+    /**
+     * Sets the state of all keys from bits packed with {@link #getState()}.
+     *
+     * @param state The key bits.
+     */
+    public void setState(int state) {
+        key_left = (state & LEFT) != 0;
+        key_right = (state & RIGHT) != 0;
+        key_space = (state & SPACE) != 0;
+        key_j = (state & J) != 0;
+        key_k = (state & K) != 0;
+        key_enter = (state & ENTER) != 0;
+    }
 }
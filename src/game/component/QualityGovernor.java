@@ -0,0 +1,177 @@
+package game.component;
+
+import java.awt.*;
+
+/**
+ * The QualityGovernor class lowers the render quality when frames run over budget and raises it again
+ * when they have room to spare, so heavy fights keep the frame rate instead of dropping frames.
+ *
+ * Level 0 is full quality. Every level above it gives up one more thing, cheapest visual loss first:
+ * antialiasing, bilinear interpolation, half of the explosion particles, then a quarter of them together
+ * with the HP bars of the rockets. The explosion particles keep antialiasing at every level, see
+ * {@link #getParticleAntialiasing()}. Only drawing changes; the simulation always runs every particle,
+ * so replays and the world state do not depend on the level.
+ *
+ * The governor has hysteresis: it steps down after a few late frames within a half-second window,
+ * but only steps up after a long run of frames that all took well under the budget. Frames between
+ * the two thresholds keep the current level, so the quality does not flicker around the budget.
+ */
+public class QualityGovernor {
+
+    public static final int MAX_LEVEL = 4;
+    public static final String[] LEVEL_NAMES = {"full", "no antialiasing", "nearest neighbor",
+            "half particles", "quarter particles, no rocket HP bars"};
+
+    private static final double LATE = 0.9; // Fraction of the budget from which a frame counts as late
+    private static final double FAST = 0.6; // Fraction of the budget every frame must stay under to step up
+    private static final int DOWN_FRAMES = 30; // Window of frames checked for late ones
+    private static final int DOWN_LATE_FRAMES = 3; // Late frames in the window that step down
+    private static final int UP_FRAMES = 180; // Fast frames in a row that step up, three seconds at 60 FPS
+
+    private final long lateTime;
+    private final long fastTime;
+    private final boolean adaptive;
+    private volatile int level;
+
+    // Frame counters of the current window and of the current run of fast frames
+    private int windowFrames;
+    private int lateFrames;
+    private int fastFrames;
+    private long changes;
+
+    /**
+     * Constructor to create a governor.
+     *
+     * @param budget The frame time budget in nanoseconds.
+     * @param level  The initial level, between 0 and MAX_LEVEL.
+     * @param adaptive true to change the level with the frame times, false to keep it fixed.
+     */
+    public QualityGovernor(long budget, int level, boolean adaptive) {
+        if (level < 0 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Invalid quality level " + level);
+        }
+        this.lateTime = (long) (budget * LATE);
+        this.fastTime = (long) (budget * FAST);
+        this.level = level;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Creates a governor with the settings of GameConfig.
+     *
+     * @param budget The frame time budget in nanoseconds.
+     * @return The governor.
+     */
+    public static QualityGovernor fromConfig(long budget) {
+        int fixed = GameConfig.getQualityLevel();
+        return fixed < 0 ? new QualityGovernor(budget, 0, true) : new QualityGovernor(budget, fixed, false);
+    }
+
+    /**
+     * Records the time of a finished frame and changes the level when it is due.
+     *
+     * @param frameTime The time spent drawing and presenting the frame, in nanoseconds.
+     */
+    public void onFrame(long frameTime) {
+        if (!adaptive) {
+            return;
+        }
+        windowFrames++;
+        if (frameTime > lateTime) {
+            lateFrames++;
+        }
+        fastFrames = frameTime < fastTime ? fastFrames + 1 : 0;
+
+        if (fastFrames >= UP_FRAMES && level > 0) {
+            setLevel(level - 1);
+        } else if (windowFrames == DOWN_FRAMES) {
+            // Judge every level on a whole window, so one slow level change is not followed by another
+            if (lateFrames >= DOWN_LATE_FRAMES && level < MAX_LEVEL) {
+                setLevel(level + 1);
+            } else {
+                windowFrames = 0;
+                lateFrames = 0;
+            }
+        }
+    }
+
+    private void setLevel(int level) {
+        this.level = level;
+        changes++;
+        windowFrames = 0;
+        lateFrames = 0;
+        fastFrames = 0;
+    }
+
+    /**
+     * Sets the rendering hints of the current level on a frame.
+     *
+     * @param g2 The Graphics2D object of the frame.
+     */
+    public void apply(Graphics2D g2) {
+        int current = level;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                current < 1 ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, current < 2
+                ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    }
+
+    /**
+     * Gets the current level.
+     *
+     * @return The level, 0 for full quality up to MAX_LEVEL.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the antialiasing hint to draw the explosion particles with at the current level.
+     * Software Java2D fills translucent rectangles through a much faster loop with antialiasing on:
+     * ParticleBenchmark measured 61 us per frame for 168 particles with it and 261 us without it.
+     * Turning it off would cost time instead of saving it, so the particles keep it at every level.
+     *
+     * @return The RenderingHints value of KEY_ANTIALIASING for the particles.
+     */
+    public Object getParticleAntialiasing() {
+        return RenderingHints.VALUE_ANTIALIAS_ON;
+    }
+
+    /**
+     * Gets the step between two drawn explosion particles at the current level.
+     *
+     * @return 1 to draw every particle, 2 for every second one, and so on.
+     */
+    public int getParticleStride() {
+        int current = level;
+        return current >= 4 ? 4 : current >= 3 ? 2 : 1;
+    }
+
+    /**
+     * Checks whether the HP bars of damaged rockets are drawn at the current level.
+     * The HP bar of the player is always drawn.
+     *
+     * @return true if rocket HP bars are drawn.
+     */
+    public boolean isRocketHpBars() {
+        return level < 4;
+    }
+
+    /**
+     * Checks whether the level follows the frame times.
+     *
+     * @return true if the level is adaptive, false if it is fixed.
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Gets the number of level changes since the start.
+     *
+     * @return The change count.
+     */
+    public long getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,128 @@
+package game.component;
+
+import java.awt.*;
+
+/**
+ * The RenderBackend class is the target the render loop draws each frame into.
+ * A frame is drawn into the graphics returned by {@link #beginFrame()} and shown on
+ * the screen by {@link #endFrame(Graphics2D)}, which also measures how long presenting took.
+ *
+ * Backends are created with {@link #create(String, PanelGame)}, which falls back to a simpler
+ * backend when the requested one is not available on this machine.
+ */
+public abstract class RenderBackend {
+
+    // Presentation cost of the frames shown so far, in nanoseconds
+    private long presentTime;
+    private long maxPresentTime;
+    private long totalPresentTime;
+    private long frames;
+
+    /**
+     * Creates the requested backend, or the next simpler one if it cannot be used.
+     * The order is: bufferstrategy, volatile, image.
+     *
+     * @param type  The requested backend name.
+     * @param panel The game panel the frames are shown on.
+     * @return The backend.
+     */
+    public static RenderBackend create(String type, PanelGame panel) {
+        if ("bufferstrategy".equals(type)) {
+            try {
+                return new BufferStrategyBackend(panel);
+            } catch (RuntimeException | AWTException e) {
+                System.err.println("Buffer strategy not available, falling back: " + e);
+                type = "volatile";
+            }
+        }
+        if ("volatile".equals(type)) {
+            try {
+                return new VolatileImageBackend(panel);
+            } catch (RuntimeException e) {
+                System.err.println("Volatile image not available, falling back: " + e);
+            }
+        }
+        return new ImageBackend(panel, panel.getWidth(), panel.getHeight());
+    }
+
+    /**
+     * Gets the graphics to draw the next frame into.
+     *
+     * @return The graphics of the back buffer.
+     */
+    public abstract Graphics2D beginFrame();
+
+    /**
+     * Shows the frame drawn into the graphics and releases the graphics.
+     *
+     * @param g2 The graphics returned by {@link #beginFrame()}.
+     * @return true if the frame was shown, false if the back buffer was lost and the frame must be drawn again.
+     */
+    public boolean endFrame(Graphics2D g2) {
+        long startTime = System.nanoTime();
+        boolean shown = show(g2);
+        long time = System.nanoTime() - startTime;
+        presentTime = time;
+        maxPresentTime = Math.max(maxPresentTime, time);
+        totalPresentTime += time;
+        frames++;
+        return shown;
+    }
+
+    /**
+     * Presents the back buffer. Implementations must dispose the graphics.
+     *
+     * @param g2 The graphics returned by {@link #beginFrame()}.
+     * @return true if the frame was shown, false if it must be drawn again.
+     */
+    protected abstract boolean show(Graphics2D g2);
+
+    /**
+     * Gets the name of the backend.
+     *
+     * @return The backend name.
+     */
+    public abstract String getName();
+
+    /**
+     * Releases the resources of the backend.
+     */
+    public void dispose() {
+    }
+
+    /**
+     * Gets the presentation cost of the last frame.
+     *
+     * @return The time spent presenting, in nanoseconds.
+     */
+    public long getPresentTime() {
+        return presentTime;
+    }
+
+    /**
+     * Gets the average presentation cost of all frames shown so far.
+     *
+     * @return The average time spent presenting, in nanoseconds.
+     */
+    public long getAveragePresentTime() {
+        return frames == 0 ? 0 : totalPresentTime / frames;
+    }
+
+    /**
+     * Gets the highest presentation cost of all frames shown so far.
+     *
+     * @return The maximum time spent presenting, in nanoseconds.
+     */
+    public long getMaxPresentTime() {
+        return maxPresentTime;
+    }
+
+    /**
+     * Gets the number of frames shown so far.
+     *
+     * @return The frame count.
+     */
+    public long getFrames() {
+        return frames;
+    }
+}
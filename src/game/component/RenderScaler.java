@@ -0,0 +1,99 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * The RenderScaler class lets the render loop draw the world at a lower internal resolution.
+ * With a scale below 1 the world is drawn into a smaller scene image, through a scaling transform so
+ * that callers keep drawing in window coordinates, and the image is stretched over the whole frame
+ * when the scene is finished. Software rendering fills far fewer pixels this way: at a scale of 0.5
+ * the world covers a quarter of the pixels, and the stretch is a single image blit.
+ *
+ * Images are scaled with nearest-neighbor interpolation, both the sprites drawn into the scene and the
+ * stretch of the scene itself: in software Java2D a bilinear stretch of the whole frame costs more than
+ * the pixels the smaller scene saves.
+ *
+ * At a scale of 1 the scene is the frame itself and the scaler does nothing.
+ */
+public class RenderScaler {
+
+    private final double scale;
+    private final int width;
+    private final int height;
+    private final BufferedImage scene;
+
+    /**
+     * Constructor to create a scaler for frames of a fixed size.
+     *
+     * @param component The component the frames are shown on, used for a compatible image, or null.
+     * @param width     The width of the frame.
+     * @param height    The height of the frame.
+     * @param scale     The internal render scale, greater than 0 and at most 1.
+     */
+    public RenderScaler(Component component, int width, int height, double scale) {
+        if (!(scale > 0 && scale <= 1)) {
+            throw new IllegalArgumentException("Invalid render scale " + scale);
+        }
+        this.scale = scale;
+        this.width = width;
+        this.height = height;
+        if (scale == 1) {
+            scene = null;
+        } else {
+            int sceneWidth = Math.max(1, (int) Math.round(width * scale));
+            int sceneHeight = Math.max(1, (int) Math.round(height * scale));
+            GraphicsConfiguration gc = component == null ? null : component.getGraphicsConfiguration();
+            scene = gc == null
+                    ? new BufferedImage(sceneWidth, sceneHeight, BufferedImage.TYPE_INT_RGB)
+                    : gc.createCompatibleImage(sceneWidth, sceneHeight);
+        }
+    }
+
+    /**
+     * Gets the graphics to draw the world of a frame into, in window coordinates.
+     *
+     * @param frame The graphics of the frame.
+     * @return The graphics of the scene image, or the frame itself at a scale of 1.
+     */
+    public Graphics2D beginScene(Graphics2D frame) {
+        if (scene == null) {
+            return frame;
+        }
+        Graphics2D g2 = scene.createGraphics();
+        g2.setRenderingHints(frame.getRenderingHints());
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.transform(AffineTransform.getScaleInstance(
+                scene.getWidth() / (double) width, scene.getHeight() / (double) height));
+        return g2;
+    }
+
+    /**
+     * Stretches the finished scene over the frame and releases the graphics of the scene.
+     *
+     * @param sceneGraphics The graphics returned by {@link #beginScene(Graphics2D)}.
+     * @param frame         The graphics of the frame.
+     */
+    public void endScene(Graphics2D sceneGraphics, Graphics2D frame) {
+        if (scene == null) {
+            return;
+        }
+        sceneGraphics.dispose();
+        Object oldInterpolation = frame.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        frame.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        frame.drawImage(scene, 0, 0, width, height, null);
+        if (oldInterpolation != null) {
+            frame.setRenderingHint(RenderingHints.KEY_INTERPOLATION, oldInterpolation);
+        }
+    }
+
+    /**
+     * Gets the internal render scale.
+     *
+     * @return The scale, 1 for full resolution.
+     */
+    public double getScale() {
+        return scale;
+    }
+}
@@ -0,0 +1,87 @@
+package game.component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ScriptedInput class drives a Key object from a script instead of the keyboard.
+ * A script is a list of steps separated by ';'. Each step is a tick number, '=' and the
+ * comma-separated keys held from that tick on, e.g. {@code 0=j,right;600=k,space;1200=}.
+ * Valid keys are left, right, space, j, k and enter.
+ */
+public class ScriptedInput {
+
+    // Script used when none is given: keep turning and shooting, restart after game over
+    public static final String AUTO_FIRE = "0=j,right,enter";
+
+    private final List<Long> ticks = new ArrayList<>();
+    private final List<String[]> keys = new ArrayList<>();
+    private int next;
+
+    /**
+     * Constructor to parse a script.
+     *
+     * @param script The script text.
+     * @throws IllegalArgumentException If the script cannot be parsed.
+     */
+    public ScriptedInput(String script) {
+        for (String step : script.split(";")) {
+            if (step.trim().isEmpty()) {
+                continue;
+            }
+            int separator = step.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing '=' in script step: " + step);
+            }
+            ticks.add(Long.parseLong(step.substring(0, separator).trim()));
+            String held = step.substring(separator + 1).trim();
+            keys.add(held.isEmpty() ? new String[0] : held.split(","));
+        }
+    }
+
+    /**
+     * Applies the script steps due at the given tick to the key state.
+     *
+     * @param tick The tick about to be simulated.
+     * @param key  The key state to update.
+     */
+    public void apply(long tick, Key key) {
+        while (next < ticks.size() && ticks.get(next) <= tick) {
+            set(key, keys.get(next));
+            next++;
+        }
+    }
+
+    private static void set(Key key, String[] held) {
+        key.setKey_left(false);
+        key.setKey_right(false);
+        key.setKey_space(false);
+        key.setKey_j(false);
+        key.setKey_k(false);
+        key.setKey_enter(false);
+        for (String name : held) {
+            switch (name.trim()) {
+                case "left":
+                    key.setKey_left(true);
+                    break;
+                case "right":
+                    key.setKey_right(true);
+                    break;
+                case "space":
+                    key.setKey_space(true);
+                    break;
+                case "j":
+                    key.setKey_j(true);
+                    break;
+                case "k":
+                    key.setKey_k(true);
+                    break;
+                case "enter":
+                    key.setKey_enter(true);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown key in script: " + name);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package game.component;
+
+/**
+ * The SimulationLoop class drives the game simulation at a fixed tick rate.
+ * It runs a single thread that calls the tick action once per simulation step,
+ * catching up with missed steps when the thread falls behind, so that game speed
+ * depends on game time instead of on how precisely the operating system sleeps.
+ */
+public class SimulationLoop {
+
+    // Maximum number of ticks executed back to back before the backlog is dropped
+    private static final int MAX_CATCH_UP_TICKS = 10;
+
+    private final Runnable tick; // Action executed once per simulation step
+    private final long tickTime; // Duration of one simulation step in nanoseconds
+    private volatile boolean running;
+    private Thread thread;
+    private long tickCount;
+
+    /**
+     * Constructor to create a simulation loop with a fixed tick rate.
+     *
+     * @param tickRate The number of simulation steps per second.
+     * @param tick     The action executed on each simulation step.
+     */
+    public SimulationLoop(int tickRate, Runnable tick) {
+        this.tick = tick;
+        this.tickTime = 1000000000L / tickRate;
+    }
+
+    /**
+     * Starts the simulation thread.
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                long nextTick = System.nanoTime();
+                while (running) {
+                    int steps = 0;
+                    while (System.nanoTime() - nextTick >= 0 && steps < MAX_CATCH_UP_TICKS) {
+                        tick.run();
+                        tickCount++;
+                        nextTick += tickTime;
+                        steps++;
+                    }
+                    if (steps == MAX_CATCH_UP_TICKS) {
+                        // Too far behind, drop the backlog instead of spiraling
+                        nextTick = System.nanoTime();
+                    }
+                    long wait = nextTick - System.nanoTime();
+                    if (wait > 0) {
+                        sleep(wait);
+                    }
+                }
+            }
+        }, "simulation");
+        thread.start();
+    }
+
+    /**
+     * Stops the simulation thread after the current step.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * Gets the id of the simulation thread.
+     *
+     * @return The thread id, or -1 before the loop is started.
+     */
+    public long getThreadId() {
+        Thread current = thread;
+        return current == null ? -1 : current.getId();
+    }
+
+    /**
+     * Gets the number of simulation steps executed so far.
+     *
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    // Method to pause the simulation thread for a specified duration (in nanoseconds)
+    private void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+        } catch (InterruptedException exception) {
+            System.err.println(exception); // Print any interruption errors to the console
+        }
+    }
+}
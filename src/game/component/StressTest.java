@@ -0,0 +1,238 @@
+package game.component;
+
+import game.jfr.RocketSpawnEvent;
+import game.wave.Wave;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The StressTest class replaces the normal rocket waves with waves that keep growing,
+ * to find how many entities this machine can simulate and draw within a frame budget.
+ *
+ * Rockets are spawned in waves at a fixed rate from both sides of the screen, and the player fires
+ * extra bullets in all directions at a bullet rate per tick, so that the bullets and the explosions
+ * they cause grow with the rockets. The test runs in steps of STEP_FRAMES frames: after a step whose
+ * 95th percentile frame time stayed within the budget, the wave size and the bullet rate grow by the
+ * ramp factor. The first step over budget ends the ramp, both fall back to the last sustainable step
+ * and the report lists the highest rocket, bullet and particle counts seen in a step that met the budget.
+ *
+ * While the test runs the player keeps turning and firing and cannot be destroyed.
+ * Waves are spawned by the simulation thread, frames are reported by the thread that draws them.
+ */
+public class StressTest {
+
+    private static final int STEP_FRAMES = 120; // Frames measured per ramp step, two seconds at 60 FPS
+    private static final int MAX_ROCKETS = 200000; // Stop if the machine never reaches the budget
+
+    // Wave settings
+    private final int waveTicks; // Ticks between waves
+    private final float speed; // Speed of the spawned rockets
+    private final double hp; // HP of the spawned rockets
+    private final long budget; // Frame time budget in nanoseconds
+    private final double ramp; // Wave size growth per step
+    private volatile int burst; // Rockets per wave
+    private volatile double bulletRate; // Extra bullets fired per tick
+    private int waveTime; // Tick counter of the current wave, used by the simulation thread
+    private double bulletCredit; // Fraction of a bullet carried to the next tick, used by the simulation thread
+    private float bulletAngle; // Direction of the next extra bullet, used by the simulation thread
+
+    // Measurement of the current step, used by the drawing thread
+    private final long[] frameTimes = new long[STEP_FRAMES];
+    private int frames;
+    private int step;
+    private int stepRockets;
+    private int stepBullets;
+    private int stepParticles;
+
+    // Best step within budget
+    private int bestBurst;
+    private double bestBulletRate;
+    private long bestFrameTime;
+    private int maxRockets;
+    private int maxBullets;
+    private int maxParticles;
+    private long lastFrameTime; // 95th percentile frame time of the last finished step
+    private volatile boolean finished;
+
+    /**
+     * Constructor to create a stress test.
+     *
+     * @param waveRate     The number of waves per second.
+     * @param burst        The number of rockets in the first wave.
+     * @param bulletRate   The number of extra bullets fired per tick in the first step.
+     * @param speed        The speed of the rockets.
+     * @param hp           The HP of the rockets.
+     * @param budgetMillis The frame time budget in milliseconds.
+     * @param ramp         The factor the wave size and the bullet rate grow by at every step within budget.
+     */
+    public StressTest(double waveRate, int burst, double bulletRate, float speed, double hp, double budgetMillis,
+                      double ramp) {
+        if (waveRate <= 0 || burst <= 0 || bulletRate < 0 || budgetMillis <= 0 || ramp <= 1) {
+            throw new IllegalArgumentException("Invalid stress test settings");
+        }
+        this.waveTicks = Math.max(1, (int) Math.round(GameWorld.TICK_RATE / waveRate));
+        this.burst = burst;
+        this.bulletRate = bulletRate;
+        this.speed = speed;
+        this.hp = hp;
+        this.budget = (long) (budgetMillis * 1000000);
+        this.ramp = ramp;
+    }
+
+    /**
+     * Creates a stress test with the settings of GameConfig.
+     *
+     * @return The stress test.
+     */
+    public static StressTest fromConfig() {
+        return new StressTest(GameConfig.getStressWaveRate(), GameConfig.getStressBurst(),
+                GameConfig.getStressBulletRate(), GameConfig.getStressSpeed(),
+                GameConfig.getStressHp(), GameConfig.getStressBudgetMillis(), GameConfig.getStressRamp());
+    }
+
+    /**
+     * Fires the extra bullets of the tick and spawns a wave of rockets when it is due.
+     * Called by the world's spawning phase every tick.
+     *
+     * @param world The world to spawn into.
+     */
+    void spawn(GameWorld world) {
+        bulletCredit += bulletRate;
+        while (bulletCredit >= 1) {
+            bulletCredit--;
+            world.fireBullet(bulletAngle, 5);
+            bulletAngle = (bulletAngle + 137.5f) % 360; // Golden angle, spreads the bullets evenly
+        }
+        if (waveTime == 0) {
+            RocketSpawnEvent event = new RocketSpawnEvent();
+            event.begin();
+            int spawned = Wave.spawnRandom(world, burst, speed, hp);
+            event.end();
+            if (event.shouldCommit()) {
+                event.spawned = spawned;
+                event.alive = world.getRockets().size();
+                event.commit();
+            }
+        }
+        waveTime++;
+        if (waveTime >= waveTicks) {
+            waveTime = 0;
+        }
+    }
+
+    /**
+     * Records the time of a drawn frame and ramps the waves up at the end of each step.
+     *
+     * @param frameTime The duration of the frame in nanoseconds.
+     * @param rockets   The number of rockets the frame showed.
+     * @param bullets   The number of bullets the frame showed.
+     * @param particles The number of explosion particles the frame showed.
+     */
+    public void onFrame(long frameTime, int rockets, int bullets, int particles) {
+        if (finished) {
+            return;
+        }
+        frameTimes[frames++] = frameTime;
+        stepRockets = Math.max(stepRockets, rockets);
+        stepBullets = Math.max(stepBullets, bullets);
+        stepParticles = Math.max(stepParticles, particles);
+        if (frames < STEP_FRAMES) {
+            return;
+        }
+
+        Arrays.sort(frameTimes);
+        lastFrameTime = frameTimes[(int) (STEP_FRAMES * 0.95)];
+        step++;
+        if (lastFrameTime <= budget) {
+            bestBurst = burst;
+            bestBulletRate = bulletRate;
+            bestFrameTime = lastFrameTime;
+            maxRockets = Math.max(maxRockets, stepRockets);
+            maxBullets = Math.max(maxBullets, stepBullets);
+            maxParticles = Math.max(maxParticles, stepParticles);
+            if (stepRockets >= MAX_ROCKETS) {
+                finish();
+            } else {
+                burst = Math.max(burst + 1, (int) Math.ceil(burst * ramp));
+                bulletRate *= ramp;
+            }
+        } else {
+            finish();
+        }
+        frames = 0;
+        stepRockets = 0;
+        stepBullets = 0;
+        stepParticles = 0;
+    }
+
+    private void finish() {
+        // Keep the game running at the last wave size that met the budget
+        if (bestBurst > 0) {
+            burst = bestBurst;
+            bulletRate = bestBulletRate;
+        }
+        finished = true;
+        printReport();
+    }
+
+    /**
+     * Checks whether the ramp has ended.
+     *
+     * @return true once a step went over budget.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Gets the current number of rockets per wave.
+     *
+     * @return The burst size.
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Gets the current number of extra bullets fired per tick.
+     *
+     * @return The bullet rate.
+     */
+    public double getBulletRate() {
+        return bulletRate;
+    }
+
+    /**
+     * Gets the report of the test: the frame budget and the highest entity counts that met it.
+     *
+     * @return The report lines.
+     */
+    public List<String> getReport() {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("stress test: %d steps, frame budget %.2f ms (p95)", step, budget / 1000000.0));
+        if (bestBurst == 0) {
+            report.add(String.format("budget exceeded in the first step (p95 %.2f ms)", lastFrameTime / 1000000.0));
+            return report;
+        }
+        report.add(String.format("max sustainable: rockets %d, bullets %d, particles %d", maxRockets, maxBullets, maxParticles));
+        report.add(String.format("at %d rockets per wave, %.1f waves/s, %.2f extra bullets per tick: p95 %.2f ms",
+                bestBurst, GameWorld.TICK_RATE / (double) waveTicks, bestBulletRate, bestFrameTime / 1000000.0));
+        if (lastFrameTime > budget) {
+            report.add(String.format("next step over budget: p95 %.2f ms", lastFrameTime / 1000000.0));
+        } else {
+            report.add("budget never exceeded, stopped at " + MAX_ROCKETS + " rockets");
+        }
+        return report;
+    }
+
+    /**
+     * Prints the report to the console.
+     */
+    public void printReport() {
+        for (String line : getReport()) {
+            System.out.println(line);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package game.component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The TripleBuffer class hands complete values from one writer thread to one reader thread without locks.
+ * It holds three pre-allocated buffers: the writer fills the back buffer, the reader uses the front buffer,
+ * and the third one holds the latest complete value. Publishing swaps the back buffer with the latest one,
+ * acquiring swaps the front buffer with the latest one if it is newer. The two threads never hold the
+ * same buffer, so the writer can refill its buffer while the reader is still drawing an older one, and
+ * neither side ever waits for the other.
+ *
+ * @param <T> The type of the buffers.
+ */
+public class TripleBuffer<T> {
+
+    private static final int FRESH = 4; // Set in the exchange when the latest buffer was not acquired yet
+    private static final int INDEX = 3;
+
+    private final Object[] buffers;
+    private final AtomicInteger latest; // Index of the latest complete buffer, plus FRESH
+    private int back; // Used only by the writer
+    private int front; // Used only by the reader
+
+    /**
+     * Constructor to create a triple buffer from three distinct buffers.
+     * The reader starts with the first buffer, so it should hold a valid value.
+     *
+     * @param front  The buffer the reader starts with.
+     * @param latest The buffer holding the latest value.
+     * @param back   The buffer the writer fills first.
+     */
+    public TripleBuffer(T front, T latest, T back) {
+        this.buffers = new Object[]{front, latest, back};
+        this.front = 0;
+        this.latest = new AtomicInteger(1);
+        this.back = 2;
+    }
+
+    /**
+     * Gets the buffer the writer may fill. Only the writer thread may call this.
+     *
+     * @return The back buffer.
+     */
+    public T getBackBuffer() {
+        return get(back);
+    }
+
+    /**
+     * Publishes the filled back buffer as the latest value and gives the writer a new back buffer.
+     * Only the writer thread may call this.
+     */
+    public void publish() {
+        back = latest.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Gets the latest published value. Only the reader thread may call this.
+     * The returned buffer stays unchanged until the next call.
+     *
+     * @return The latest value, or the previous one if nothing new was published.
+     */
+    public T acquire() {
+        if ((latest.get() & FRESH) != 0) {
+            front = latest.getAndSet(front) & INDEX;
+        }
+        return get(front);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(int index) {
+        return (T) buffers[index]; // Only T values are stored
+    }
+}
@@ -0,0 +1,67 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.image.VolatileImage;
+
+/**
+ * The VolatileImageBackend class draws each frame into a VolatileImage in the screen's pixel format,
+ * which Java2D can keep in video memory, and copies it onto the panel.
+ * The image is validated every frame and recreated when the display configuration changes.
+ */
+public class VolatileImageBackend extends RenderBackend {
+
+    private final Component component;
+    private VolatileImage image;
+
+    /**
+     * Constructor to create the back buffer for a component.
+     *
+     * @param component The component the frames are shown on.
+     */
+    public VolatileImageBackend(Component component) {
+        this.component = component;
+        this.image = createImage();
+    }
+
+    @Override
+    public Graphics2D beginFrame() {
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        if (image.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            image.flush();
+            image = createImage();
+        }
+        return image.createGraphics();
+    }
+
+    @Override
+    protected boolean show(Graphics2D g2) {
+        g2.dispose();
+        if (image.contentsLost()) {
+            return false;
+        }
+        Graphics g = component.getGraphics();
+        if (g != null) {
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+        }
+        return !image.contentsLost();
+    }
+
+    @Override
+    public String getName() {
+        return image.getCapabilities().isAccelerated() ? "volatile (accelerated)" : "volatile";
+    }
+
+    @Override
+    public void dispose() {
+        image.flush();
+    }
+
+    private VolatileImage createImage() {
+        VolatileImage created = component.createVolatileImage(component.getWidth(), component.getHeight());
+        if (created == null) {
+            throw new IllegalStateException("Component is not displayable");
+        }
+        return created;
+    }
+}
@@ -0,0 +1,273 @@
+package game.component;
+
+import game.obj.AssetRegistry;
+import game.obj.BulletBuffer;
+import game.obj.ExplosionBuffer;
+import game.obj.HpRender;
+import game.obj.ParticleEngine;
+import game.obj.Player;
+import game.obj.Rocket;
+import game.obj.RotatedSprite;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * The WorldSnapshot class holds everything needed to draw one simulated tick: the player, bullet,
+ * rocket, particle and sprite explosion positions and angles, the HP bar ratios and the score, copied into
+ * primitive arrays.
+ * The simulation thread fills a snapshot at the end of a tick with {@link #capture(GameWorld)}, and the
+ * render thread draws it with {@link #draw(Graphics2D)} without touching a live entity.
+ *
+ * A snapshot is reused from tick to tick: the arrays only grow when a tick has more entities than any
+ * tick before, so capturing does not allocate. The GameWorld passes snapshots between the two threads
+ * through a TripleBuffer, which guarantees that a snapshot is never captured while it is drawn.
+ */
+public class WorldSnapshot {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Color BULLET_COLOR = new Color(255, 255, 255);
+
+    // Shared images, looked up once
+    private final RotatedSprite playerImage = AssetRegistry.getSprite(AssetRegistry.PLAYER_IMAGE);
+    private final RotatedSprite playerSpeedImage = AssetRegistry.getSprite(AssetRegistry.PLAYER_SPEED_IMAGE);
+    private final RotatedSprite rocketImage = AssetRegistry.getSprite(AssetRegistry.ROCKET_IMAGE);
+
+    // Shapes reused while drawing; a snapshot is only drawn by one thread at a time
+    private final Ellipse2D.Double bulletShape = new Ellipse2D.Double();
+    private final Rectangle2D.Double hpBar = new Rectangle2D.Double();
+
+    private long tick;
+    private int score;
+    private long inputTime; // Receive time of the oldest key event of the last tick up to this one that changed a key
+
+    // Player
+    private boolean playerAlive;
+    private boolean playerSpeedUp;
+    private double playerX;
+    private double playerY;
+    private float playerAngle;
+    private double playerHpY; // HP bar position relative to the player
+    private double playerHpRatio;
+
+    // Bullets
+    private float[] bulletX = new float[INITIAL_CAPACITY];
+    private float[] bulletY = new float[INITIAL_CAPACITY];
+    private float[] bulletSize = new float[INITIAL_CAPACITY];
+    private int bulletCount;
+
+    // Rockets
+    private double[] rocketX = new double[INITIAL_CAPACITY];
+    private double[] rocketY = new double[INITIAL_CAPACITY];
+    private float[] rocketAngle = new float[INITIAL_CAPACITY];
+    private double[] rocketHpY = new double[INITIAL_CAPACITY];
+    private double[] rocketHpRatio = new double[INITIAL_CAPACITY];
+    private int rocketCount;
+
+    // Explosion particles and sprite explosions
+    private final ParticleEngine particles = new ParticleEngine();
+    private final ExplosionBuffer explosions = new ExplosionBuffer();
+
+    /**
+     * Copies the renderable state of a world into the snapshot.
+     * Only the simulation thread may call this, between two ticks.
+     *
+     * @param world The world to copy.
+     */
+    public void capture(GameWorld world) {
+        tick = world.getTickCount();
+        score = world.getScore();
+        inputTime = world.getInputTime();
+
+        Player player = world.getPlayer();
+        playerAlive = player.isAlive();
+        playerSpeedUp = player.isSpeedUp();
+        playerX = player.getX();
+        playerY = player.getY();
+        playerAngle = player.getAngle();
+        playerHpY = Math.floor(player.getHull().getMinY()) - playerY - 10;
+        playerHpRatio = player.getHp() / player.getMaxHp();
+
+        BulletBuffer bullets = world.getBullets();
+        bulletCount = bullets.size();
+        if (bulletX.length < bulletCount) {
+            int capacity = grow(bulletX.length, bulletCount);
+            bulletX = new float[capacity];
+            bulletY = new float[capacity];
+            bulletSize = new float[capacity];
+        }
+        for (int i = 0; i < bulletCount; i++) {
+            bulletX[i] = (float) bullets.getX(i);
+            bulletY[i] = (float) bullets.getY(i);
+            bulletSize[i] = (float) bullets.getSize(i);
+        }
+
+        EntityRegistry.View<Rocket> rockets = world.getRockets().view();
+        rocketCount = rockets.size();
+        if (rocketX.length < rocketCount) {
+            int capacity = grow(rocketX.length, rocketCount);
+            rocketX = new double[capacity];
+            rocketY = new double[capacity];
+            rocketAngle = new float[capacity];
+            rocketHpY = new double[capacity];
+            rocketHpRatio = new double[capacity];
+        }
+        for (int i = 0; i < rocketCount; i++) {
+            Rocket rocket = rockets.get(i);
+            rocketX[i] = rocket.getX();
+            rocketY[i] = rocket.getY();
+            rocketAngle[i] = rocket.getAngle();
+            rocketHpY[i] = Math.floor(rocket.getHull().getMinY()) - rocket.getY() - 10;
+            rocketHpRatio[i] = rocket.getHp() / rocket.getMaxHp();
+        }
+
+        world.getParticles().copyTo(particles);
+        world.getExplosions().copyTo(explosions);
+    }
+
+    private static int grow(int capacity, int needed) {
+        return Math.max(needed, capacity * 2);
+    }
+
+    /**
+     * Draws the player, bullets, rockets and explosion particles of the snapshot at full quality.
+     *
+     * @param g2 The Graphics2D object used for drawing.
+     */
+    public void draw(Graphics2D g2) {
+        draw(g2, 1, true, null);
+    }
+
+    /**
+     * Draws the player, bullets, rockets and explosion particles of the snapshot at the current level
+     * of a quality governor.
+     *
+     * @param g2      The Graphics2D object used for drawing.
+     * @param quality The governor choosing what to leave out.
+     */
+    public void draw(Graphics2D g2, QualityGovernor quality) {
+        draw(g2, quality.getParticleStride(), quality.isRocketHpBars(), quality.getParticleAntialiasing());
+    }
+
+    /**
+     * Draws the snapshot; a null particle antialiasing hint keeps the hint of the graphics.
+     */
+    private void draw(Graphics2D g2, int particleStride, boolean rocketHpBars, Object particleAntialiasing) {
+        AffineTransform oldTransform = g2.getTransform();
+
+        // Draw the player character
+        if (playerAlive) {
+            (playerSpeedUp ? playerSpeedImage : playerImage).draw(g2, playerX, playerY, playerAngle + 45);
+            if (playerHpRatio != 1) {
+                g2.translate(playerX, playerY);
+                HpRender.drawHpBar(g2, hpBar, playerHpY, playerHpRatio);
+                g2.setTransform(oldTransform);
+            }
+        }
+
+        // Draw all bullets
+        g2.setColor(BULLET_COLOR);
+        for (int i = 0; i < bulletCount; i++) {
+            bulletShape.setFrame(bulletX[i], bulletY[i], bulletSize[i], bulletSize[i]);
+            g2.fill(bulletShape);
+        }
+
+        // Draw all rockets with the HP bars of the damaged ones
+        for (int i = 0; i < rocketCount; i++) {
+            rocketImage.draw(g2, rocketX[i], rocketY[i], rocketAngle[i] + 45);
+            if (rocketHpBars && rocketHpRatio[i] != 1) {
+                g2.translate(rocketX[i], rocketY[i]);
+                HpRender.drawHpBar(g2, hpBar, rocketHpY[i], rocketHpRatio[i]);
+                g2.setTransform(oldTransform);
+            }
+        }
+
+        // Draw all explosion particles, then the explosions pre-rendered as sprites
+        Object oldAntialiasing = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        if (particleAntialiasing != null) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, particleAntialiasing);
+        }
+        particles.draw(g2, particleStride);
+        if (particleAntialiasing != null && oldAntialiasing != null) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, oldAntialiasing);
+        }
+        if (explosions.size() > 0) {
+            explosions.draw(g2, GameWorld.EXPLOSION.getSheet());
+        }
+    }
+
+    /**
+     * Gets the tick the snapshot was captured after.
+     *
+     * @return The number of ticks simulated before the capture.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the receive time of the oldest keyboard event applied by the last tick, up to this one, that
+     * changed a key.
+     *
+     * @return The System.nanoTime() of the event, or 0 if none.
+     */
+    public long getInputTime() {
+        return inputTime;
+    }
+
+    /**
+     * Gets the score.
+     *
+     * @return The number of rockets destroyed by bullets.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Checks whether the player was alive.
+     *
+     * @return true if the player was alive.
+     */
+    public boolean isPlayerAlive() {
+        return playerAlive;
+    }
+
+    /**
+     * Gets the number of bullets.
+     *
+     * @return The bullet count.
+     */
+    public int getBulletCount() {
+        return bulletCount;
+    }
+
+    /**
+     * Gets the number of rockets.
+     *
+     * @return The rocket count.
+     */
+    public int getRocketCount() {
+        return rocketCount;
+    }
+
+    /**
+     * Gets the number of explosions drawn from sprites.
+     *
+     * @return The explosion count.
+     */
+    public int getExplosionCount() {
+        return explosions.size();
+    }
+
+    /**
+     * Gets the number of explosion particles.
+     *
+     * @return The particle count.
+     */
+    public int getParticleCount() {
+        return particles.size();
+    }
+}
@@ -0,0 +1,37 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one collision phase, with the number of pairs tested by the narrow phase
+ * and the number of hits. By default only phases taking at least 1 ms are recorded.
+ */
+@Name("stargalaxy.Collision")
+@Label("Collision Phase")
+@Category("Star Galaxy")
+@Description("Bullets and the player checked against the rockets in one tick")
+@StackTrace(false)
+@Threshold("1 ms")
+public class CollisionEvent extends jdk.jfr.Event {
+
+    @Label("Bullets")
+    public int bullets;
+
+    @Label("Rockets")
+    public int rockets;
+
+    @Label("Pairs Tested")
+    public int pairsTested;
+
+    @Label("Hits")
+    public int hits;
+
+    @Label("Parallel")
+    @Description("Whether the bullets were tested on several threads")
+    public boolean parallel;
+}
@@ -0,0 +1,26 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for an explosion emitting a burst of particles.
+ */
+@Name("stargalaxy.EffectBurst")
+@Label("Effect Burst")
+@Category("Star Galaxy")
+@Description("Explosion particles emitted for a destroyed rocket or player")
+@StackTrace(false)
+@Threshold("0 ms")
+public class EffectBurstEvent extends jdk.jfr.Event {
+
+    @Label("Particles Created")
+    public int created;
+
+    @Label("Particles Alive")
+    public int alive;
+}
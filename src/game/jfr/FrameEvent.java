@@ -0,0 +1,40 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one rendered frame, with the duration of each render phase.
+ */
+@Name("stargalaxy.Frame")
+@Label("Frame")
+@Category("Star Galaxy")
+@Description("A frame drawn and presented by the render loop")
+@StackTrace(false)
+@Threshold("0 ms")
+public class FrameEvent extends jdk.jfr.Event {
+
+    @Label("Background")
+    @Timespan(Timespan.NANOSECONDS)
+    public long background;
+
+    @Label("Game")
+    @Timespan(Timespan.NANOSECONDS)
+    public long game;
+
+    @Label("Present")
+    @Timespan(Timespan.NANOSECONDS)
+    public long present;
+
+    @Label("Renderer")
+    public String renderer;
+
+    @Label("Quality Level")
+    @Description("Render quality level, 0 for full quality")
+    public int quality;
+}
@@ -0,0 +1,26 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for a wave of rockets added by the spawner.
+ */
+@Name("stargalaxy.RocketSpawn")
+@Label("Rocket Spawn")
+@Category("Star Galaxy")
+@Description("Rockets added to the game by the spawner")
+@StackTrace(false)
+@Threshold("0 ms")
+public class RocketSpawnEvent extends jdk.jfr.Event {
+
+    @Label("Rockets Spawned")
+    public int spawned;
+
+    @Label("Rockets Alive")
+    public int alive;
+}
@@ -0,0 +1,23 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for a sound effect handed to the mixer.
+ */
+@Name("stargalaxy.SoundDispatch")
+@Label("Sound Dispatch")
+@Category("Star Galaxy")
+@Description("A sound effect queued for playback")
+@StackTrace(false)
+@Threshold("0 ms")
+public class SoundDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Sound")
+    public String sound;
+}
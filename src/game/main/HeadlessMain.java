@@ -0,0 +1,94 @@
+/**
+ * Headless simulation runner for the Star Galaxy game.
+ * This class runs the game logic without a window, display or sound, driven by scripted input,
+ * as fast as the CPU allows, and reports the raw simulation throughput.
+ *
+ * Usage: java -Djava.awt.headless=true game.main.HeadlessMain [--ticks N] [--width W] [--height H] [--script S]
+ *        [--seed N] [--record FILE] [--waves SCRIPT]
+ *
+ * With --record the run is written to a replay file that ReplayMain can play back.
+ */
+
+package game.main;
+
+import game.component.GameWorld;
+import game.component.Key;
+import game.component.ScriptedInput;
+import game.obj.AssetRegistry;
+import game.obj.sound.Sound;
+import game.replay.ReplayRecorder;
+
+import java.io.IOException;
+
+public class HeadlessMain {
+
+    // Main method to run a headless simulation
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true"); // No display is needed
+
+        long ticks = 200000;
+        int width = 1366;
+        int height = 768;
+        String script = ScriptedInput.AUTO_FIRE;
+        long seed = System.nanoTime();
+        String record = null;
+        String waves = GameWorld.DEFAULT_WAVES;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--ticks":
+                    ticks = Long.parseLong(args[i + 1]);
+                    break;
+                case "--width":
+                    width = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--height":
+                    height = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--script":
+                    script = args[i + 1];
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                case "--record":
+                    record = args[i + 1];
+                    break;
+                case "--waves":
+                    waves = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        AssetRegistry.loadAll();
+        Key key = new Key();
+        ScriptedInput input = new ScriptedInput(script);
+        GameWorld world = new GameWorld(width, height, key, new Sound(false), seed);
+        world.setWaveScript(waves);
+        ReplayRecorder recorder = null;
+        if (record != null) {
+            recorder = new ReplayRecorder(record, world, ReplayRecorder.DEFAULT_KEYFRAME_TICKS);
+            world.setRecorder(recorder);
+        }
+
+        long startTime = System.nanoTime();
+        for (long tick = 0; tick < ticks; tick++) {
+            input.apply(tick, key);
+            world.tick();
+        }
+        long time = System.nanoTime() - startTime;
+        if (recorder != null) {
+            recorder.close();
+        }
+
+        double seconds = time / 1000000000.0;
+        double gameSeconds = ticks / (double) GameWorld.TICK_RATE;
+        System.out.printf("ticks %d in %.3f s: %.0f ticks/s, %.1fx real time%n",
+                ticks, seconds, ticks / seconds, gameSeconds / seconds);
+        System.out.printf("score %d, rockets %d, bullets %d, particles %d, player %s%n",
+                world.getScore(), world.getRockets().size(), world.getBullets().size(),
+                world.getParticles().size(), world.getPlayer().isAlive() ? "alive" : "dead");
+        System.out.printf("seed %d%s%n", seed, record != null ? ", recorded to " + record : "");
+    }
+}
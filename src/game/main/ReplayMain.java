@@ -0,0 +1,96 @@
+/**
+ * Replay runner for the Star Galaxy game.
+ * This class plays back a session recorded with -Dstargalaxy.record or HeadlessMain --record,
+ * without a window or sound. By default the replay runs as fast as the CPU allows; with --realtime
+ * it runs at the normal tick rate. Every keyframe reached during playback is compared with the
+ * replayed world, and the run fails if the replay is not bit-identical to the recording.
+ *
+ * Usage: java -Djava.awt.headless=true game.main.ReplayMain --replay FILE [--seek TICK] [--realtime]
+ *
+ * To debug a recorded problem, play the replay in the game window with -Dstargalaxy.replay=FILE.
+ */
+
+package game.main;
+
+import game.component.GameWorld;
+import game.component.SimulationLoop;
+import game.obj.AssetRegistry;
+import game.obj.sound.Sound;
+import game.replay.ReplayPlayer;
+
+import java.io.IOException;
+
+public class ReplayMain {
+
+    // Main method to play back a replay file
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true"); // No display is needed
+
+        String file = null;
+        long seek = -1;
+        boolean realtime = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--replay":
+                    file = args[++i];
+                    break;
+                case "--seek":
+                    seek = Long.parseLong(args[++i]);
+                    break;
+                case "--realtime":
+                    realtime = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("Missing --replay FILE");
+        }
+
+        AssetRegistry.loadAll();
+        final ReplayPlayer replay = new ReplayPlayer(file, new Sound(false));
+        System.out.printf("replay %s: seed %d, ticks %d to %d, keyframe every %d ticks%n", file,
+                replay.getSeed(), replay.getStartTick(), replay.getEndTick(), replay.getKeyframeTicks());
+
+        long startTime = System.nanoTime();
+        if (seek >= 0) {
+            replay.seek(seek);
+            System.out.printf("seek to tick %d in %.3f ms%n", replay.getTick(), (System.nanoTime() - startTime) / 1000000.0);
+            startTime = System.nanoTime();
+        }
+        long startTick = replay.getTick();
+        if (realtime) {
+            SimulationLoop simulation = new SimulationLoop(GameWorld.TICK_RATE, new Runnable() {
+                @Override
+                public void run() {
+                    replay.step();
+                }
+            });
+            simulation.start();
+            while (!replay.isFinished()) {
+                Thread.sleep(50);
+            }
+            simulation.stop();
+        } else {
+            while (replay.step()) {
+                // Play as fast as possible
+            }
+        }
+        long time = System.nanoTime() - startTime;
+
+        long ticks = replay.getTick() - startTick;
+        double seconds = time / 1000000000.0;
+        GameWorld world = replay.getWorld();
+        System.out.printf("ticks %d in %.3f s: %.0f ticks/s, %.1fx real time%n",
+                ticks, seconds, ticks / seconds, ticks / (double) GameWorld.TICK_RATE / seconds);
+        System.out.printf("score %d, rockets %d, bullets %d, particles %d, player %s%n",
+                world.getScore(), world.getRockets().size(), world.getBullets().size(),
+                world.getParticles().size(), world.getPlayer().isAlive() ? "alive" : "dead");
+        System.out.printf("keyframes checked %d, mismatches %d%n", replay.getKeyframesChecked(), replay.getMismatches());
+        if (replay.getMismatches() > 0) {
+            System.err.println("Replay diverged from the recording at tick " + replay.getFirstMismatchTick());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Headless stress test for the Star Galaxy game.
+ * This class runs the stress test without a window: frames are simulated at 60 FPS of game time
+ * and drawn into an offscreen image, and the time of each frame (simulation plus drawing) is
+ * measured against the budget. It reports the highest rocket, bullet and particle counts this
+ * machine sustains. Presentation to a screen is not included; run the game with
+ * -Dstargalaxy.stress=true to include it.
+ *
+ * Usage: java -Djava.awt.headless=true [-Dstargalaxy.stress.waveRate=R] [-Dstargalaxy.stress.burst=N]
+ *        [-Dstargalaxy.stress.bullets=N] [-Dstargalaxy.stress.speed=S] [-Dstargalaxy.stress.hp=H] [-Dstargalaxy.stress.budgetMs=B]
+ *        [-Dstargalaxy.stress.ramp=F] game.main.StressMain [--width W] [--height H] [--max-seconds S]
+ */
+
+package game.main;
+
+import game.component.GameConfig;
+import game.component.GameWorld;
+import game.component.ImageBackend;
+import game.component.Key;
+import game.component.StressTest;
+import game.obj.AssetRegistry;
+import game.obj.RotatedSprite;
+import game.obj.sound.Sound;
+
+import java.awt.*;
+
+public class StressMain {
+
+    private static final int FPS = 60;
+
+    // Main method to run the stress test headless
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true"); // No display is needed
+
+        int width = 1366;
+        int height = 768;
+        int maxSeconds = 600;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--width":
+                    width = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--height":
+                    height = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--max-seconds":
+                    maxSeconds = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        AssetRegistry.loadAll();
+        RotatedSprite.configure(GameConfig.getSpriteAngles(), GameConfig.getSpriteCacheMegabytes() * 1024L * 1024L);
+        StressTest stressTest = StressTest.fromConfig();
+        GameWorld world = new GameWorld(width, height, new Key(), new Sound(false));
+        world.setStressTest(stressTest);
+        ImageBackend backend = new ImageBackend(null, width, height);
+        Color background = new Color(30, 30, 30);
+
+        long maxFrames = (long) maxSeconds * FPS;
+        for (long frame = 1; frame <= maxFrames && !stressTest.isFinished(); frame++) {
+            long startTime = System.nanoTime();
+            // Simulate the ticks of one frame of game time
+            long dueTick = frame * GameWorld.TICK_RATE / FPS;
+            while (world.getTickCount() < dueTick) {
+                world.tick();
+            }
+            Graphics2D g2 = backend.beginFrame();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.setColor(background);
+            g2.fillRect(0, 0, width, height);
+            world.draw(g2);
+            backend.endFrame(g2);
+            stressTest.onFrame(System.nanoTime() - startTime, world.getRockets().size(), world.getBullets().size(),
+                    world.getParticles().size());
+        }
+        if (!stressTest.isFinished()) {
+            System.out.println("stress test stopped after " + maxSeconds + " s of game time");
+            stressTest.printReport();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package game.obj;
+
+import game.collision.ConvexHull;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The AssetRegistry class loads the game's images and base collision hulls once and shares them
+ * between all entities. Creating a Rocket or Player only looks up the shared assets, so spawning
+ * does not decode images or rebuild outlines. The shared assets must be treated as immutable.
+ *
+ * The registry records the load time and approximate memory of every asset for reporting, including
+ * the explosion sheet rendered on first use.
+ */
+public final class AssetRegistry {
+
+    // Image assets
+    public static final String ROCKET_IMAGE = "/game/image/rocket.png";
+    public static final String PLAYER_IMAGE = "/game/image/plane.png";
+    public static final String PLAYER_SPEED_IMAGE = "/game/image/plane_speed.png";
+
+    // Collision hull assets
+    public static final String ROCKET_HULL = "rocket";
+    public static final String PLAYER_HULL = "player";
+
+    private static final Map<String, BufferedImage> images = new HashMap<>();
+    private static final Map<String, RotatedSprite> sprites = new HashMap<>();
+    private static final Map<String, ConvexHull> hulls = new HashMap<>();
+    private static final List<String> report = new ArrayList<>();
+    private static boolean loaded;
+
+    private AssetRegistry() {
+    }
+
+    /**
+     * Loads every asset of the game. Does nothing if the assets are already loaded.
+     */
+    public static synchronized void loadAll() {
+        if (loaded) {
+            return;
+        }
+        loadImage(ROCKET_IMAGE);
+        loadImage(PLAYER_IMAGE);
+        loadImage(PLAYER_SPEED_IMAGE);
+        loadHull(ROCKET_HULL, Rocket.createOutline());
+        loadHull(PLAYER_HULL, Player.createOutline());
+        loaded = true;
+    }
+
+    /**
+     * Gets a shared image, loading all assets first if needed.
+     *
+     * @param path The resource path of the image.
+     * @return The shared image.
+     */
+    public static synchronized BufferedImage getImage(String path) {
+        loadAll();
+        return images.get(path);
+    }
+
+    /**
+     * Gets the shared rotated sprite of an image, loading all assets first if needed.
+     *
+     * @param path The resource path of the image.
+     * @return The shared sprite.
+     */
+    public static synchronized RotatedSprite getSprite(String path) {
+        loadAll();
+        RotatedSprite sprite = sprites.get(path);
+        if (sprite == null) {
+            sprite = new RotatedSprite(images.get(path));
+            sprites.put(path, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Gets a shared collision hull, loading all assets first if needed.
+     *
+     * @param name The name of the hull.
+     * @return The shared hull in local coordinates.
+     */
+    public static synchronized ConvexHull getHull(String name) {
+        loadAll();
+        return hulls.get(name);
+    }
+
+    /**
+     * Gets one line per loaded asset with its load time and approximate memory.
+     *
+     * @return The report lines.
+     */
+    public static synchronized List<String> getReport() {
+        return new ArrayList<>(report);
+    }
+
+    /**
+     * Prints the asset report to the console.
+     */
+    public static void printReport() {
+        for (String line : getReport()) {
+            System.out.println(line);
+        }
+    }
+
+    private static void loadImage(String path) {
+        long startTime = System.nanoTime();
+        BufferedImage image;
+        try (InputStream in = AssetRegistry.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing image resource " + path);
+            }
+            image = ImageIO.read(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load image " + path, e);
+        }
+        long time = System.nanoTime() - startTime;
+        long bytes = (long) image.getWidth() * image.getHeight() * image.getColorModel().getPixelSize() / 8;
+        images.put(path, image);
+        record(path, time, bytes);
+    }
+
+    private static void loadHull(String name, Shape outline) {
+        long startTime = System.nanoTime();
+        ConvexHull hull = new ConvexHull(outline);
+        long time = System.nanoTime() - startTime;
+        long bytes = hull.getCount() * 2L * Double.BYTES; // Two doubles per vertex
+        hulls.put(name, hull);
+        record("hull " + name, time, bytes);
+    }
+
+    /**
+     * Adds an asset rendered outside of {@link #loadAll()} to the report.
+     *
+     * @param name  The name of the asset.
+     * @param time  The time spent creating the asset in nanoseconds.
+     * @param bytes The approximate memory of the asset.
+     */
+    static synchronized void record(String name, long time, long bytes) {
+        report.add(String.format("asset %-28s %8.3f ms %8d bytes", name, time / 1000000.0, bytes));
+    }
+}
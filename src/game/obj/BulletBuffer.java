@@ -0,0 +1,223 @@
+package game.obj;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The BulletBuffer class stores all live bullets of the game in parallel primitive arrays
+ * (structure of arrays) instead of one object per bullet.
+ * Each bullet occupies one slot holding its position, velocity, size and alive flag.
+ * Dead bullets are removed by moving the last bullet into their slot (swap-remove),
+ * so adding and removing bullets are O(1) and updating them is one tight loop over contiguous memory.
+ */
+public class BulletBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Bullet slots; only the first count entries are in use
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] vx = new float[INITIAL_CAPACITY];
+    private float[] vy = new float[INITIAL_CAPACITY];
+    private float[] size = new float[INITIAL_CAPACITY];
+    private boolean[] alive = new boolean[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Adds a bullet fired from the center of the player.
+     *
+     * @param x     The x-coordinate of the player.
+     * @param y     The y-coordinate of the player.
+     * @param angle The angle at which the bullet is fired.
+     * @param size  The size (diameter) of the bullet.
+     * @param speed The distance the bullet moves per update.
+     */
+    public void add(double x, double y, float angle, double size, float speed) {
+        if (count == this.x.length) {
+            grow();
+        }
+        // Adjust the initial position so that the bullet starts from the center of the player
+        this.x[count] = (float) (x + Player.PLAYER_SIZE / 2 - (size / 2));
+        this.y[count] = (float) (y + Player.PLAYER_SIZE / 2 - (size / 2));
+        this.vx[count] = (float) (Math.cos(Math.toRadians(angle)) * speed);
+        this.vy[count] = (float) (Math.sin(Math.toRadians(angle)) * speed);
+        this.size[count] = (float) size;
+        this.alive[count] = true;
+        count++;
+    }
+
+    /**
+     * Moves every bullet by its velocity and marks the bullets that left the screen as dead.
+     *
+     * @param width  The width of the game screen.
+     * @param height The height of the game screen.
+     */
+    public void update(int width, int height) {
+        for (int i = 0; i < count; i++) {
+            float bx = x[i] += vx[i];
+            float by = y[i] += vy[i];
+            float s = size[i];
+            if (bx <= -s || by < -s || bx > width || by > height) {
+                alive[i] = false; // Bullet is out of bounds
+            }
+        }
+    }
+
+    /**
+     * Removes the dead bullets by moving the last live bullet into each free slot.
+     */
+    public void compact() {
+        int i = 0;
+        while (i < count) {
+            if (alive[i]) {
+                i++;
+            } else {
+                count--;
+                x[i] = x[count];
+                y[i] = y[count];
+                vx[i] = vx[count];
+                vy[i] = vy[count];
+                size[i] = size[count];
+                alive[i] = alive[count];
+            }
+        }
+    }
+
+    /**
+     * Removes every bullet.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Marks a bullet as dead. It is removed on the next {@link #compact()}.
+     *
+     * @param index The slot of the bullet.
+     */
+    public void kill(int index) {
+        alive[index] = false;
+    }
+
+    /**
+     * Checks whether a bullet is still alive.
+     *
+     * @param index The slot of the bullet.
+     * @return true if the bullet is alive, false otherwise.
+     */
+    public boolean isAlive(int index) {
+        return alive[index];
+    }
+
+    /**
+     * Gets the number of used slots, including dead bullets not yet compacted.
+     *
+     * @return The bullet count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the x-coordinate of a bullet.
+     *
+     * @param index The slot of the bullet.
+     * @return The x-coordinate of the bullet.
+     */
+    public double getX(int index) {
+        return x[index];
+    }
+
+    /**
+     * Gets the y-coordinate of a bullet.
+     *
+     * @param index The slot of the bullet.
+     * @return The y-coordinate of the bullet.
+     */
+    public double getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * Gets the size (diameter) of a bullet.
+     *
+     * @param index The slot of the bullet.
+     * @return The size of the bullet.
+     */
+    public double getSize(int index) {
+        return size[index];
+    }
+
+    /**
+     * Gets the x-coordinate of a bullet's center.
+     *
+     * @param index The slot of the bullet.
+     * @return The x-coordinate of the bullet's center.
+     */
+    public double getCenterX(int index) {
+        return x[index] + size[index] / 2;
+    }
+
+    /**
+     * Gets the y-coordinate of a bullet's center.
+     *
+     * @param index The slot of the bullet.
+     * @return The y-coordinate of the bullet's center.
+     */
+    public double getCenterY(int index) {
+        return y[index] + size[index] / 2;
+    }
+
+    /**
+     * Writes every used slot, including dead bullets not yet compacted.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeFloat(x[i]);
+            out.writeFloat(y[i]);
+            out.writeFloat(vx[i]);
+            out.writeFloat(vy[i]);
+            out.writeFloat(size[i]);
+            out.writeBoolean(alive[i]);
+        }
+    }
+
+    /**
+     * Replaces all bullets with the slots written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The input to read from.
+     * @throws IOException If the input cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        int n = in.readInt();
+        count = 0;
+        while (x.length < n) {
+            grow();
+        }
+        for (int i = 0; i < n; i++) {
+            x[i] = in.readFloat();
+            y[i] = in.readFloat();
+            vx[i] = in.readFloat();
+            vy[i] = in.readFloat();
+            size[i] = in.readFloat();
+            alive[i] = in.readBoolean();
+        }
+        count = n;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        size = Arrays.copyOf(size, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+    }
+}
@@ -0,0 +1,136 @@
+package game.obj;
+
+import java.awt.*;
+
+/**
+ * The Explosion class describes the explosion preset of the game: a flash of particles at the hit
+ * location and a burst of five particle layers around the center of the destroyed object.
+ * Every layer has a fixed color, particle count, maximum particle size, maximum distance and speed;
+ * speeds are tuned per millisecond and scaled to the tick duration.
+ *
+ * An explosion is either emitted into a ParticleEngine and simulated particle by particle, or drawn
+ * from an ExplosionSheet, which renders the same preset once into animation frames.
+ */
+public final class Explosion {
+
+    // Number of pre-rendered variants of the preset in the sheet
+    public static final int VARIANTS = 4;
+
+    // The layers of the preset; layer 0 is the flash, the others are the burst
+    private static final double[] MAX_DISTANCE = {50, 45, 65, 35, 85, 15};
+    private static final int[] MAX_SIZE = {50, 55, 15, 10, 5, 8};
+    private static final int[] PARTICLES = {60, 15, 11, 11, 11, 60};
+    private static final float[] SPEED_PER_MS = {0.3f, 0.35f, 0.05f, 0.04f, 0.07f, 0.05f};
+    private static final Color[] COLORS = {
+            new Color(230, 207, 105), new Color(228, 204, 77), new Color(236, 76, 41),
+            new Color(83, 82, 82), new Color(255, 255, 255), new Color(246, 153, 87)};
+
+    private final float[] speed = new float[COLORS.length]; // Distance per tick of every layer
+    private final int flashTicks;
+    private final int burstTicks;
+    private ExplosionSheet sheet; // Rendered on first use
+
+    /**
+     * Constructor to create the preset for a simulation tick duration.
+     *
+     * @param tickMillis The duration of one tick in milliseconds.
+     */
+    public Explosion(float tickMillis) {
+        int burst = 0;
+        for (int layer = 0; layer < COLORS.length; layer++) {
+            speed[layer] = SPEED_PER_MS[layer] * tickMillis;
+            if (layer > 0) {
+                burst = Math.max(burst, lifetime(layer));
+            }
+        }
+        flashTicks = lifetime(0);
+        burstTicks = burst;
+    }
+
+    /**
+     * Counts the updates until the particles of a layer reach their maximum distance,
+     * with the same float steps as ParticleEngine.update().
+     */
+    private int lifetime(int layer) {
+        float distance = 0;
+        float max = (float) MAX_DISTANCE[layer];
+        int ticks = 0;
+        do {
+            distance += speed[layer];
+            ticks++;
+        } while (distance < max);
+        return ticks;
+    }
+
+    /**
+     * Adds the colors of the preset to the palette of a particle engine, in layer order.
+     *
+     * @param engine The particle engine.
+     */
+    public void addColors(ParticleEngine engine) {
+        for (Color color : COLORS) {
+            engine.addColor(color);
+        }
+    }
+
+    /**
+     * Emits the flash layer.
+     *
+     * @param engine The particle engine.
+     * @param x      The x-coordinate of the hit.
+     * @param y      The y-coordinate of the hit.
+     * @param random The random generator for the particle pattern.
+     */
+    public void emitFlash(ParticleEngine engine, double x, double y, GameRandom random) {
+        emit(engine, 0, x, y, random);
+    }
+
+    /**
+     * Emits the burst layers.
+     *
+     * @param engine The particle engine.
+     * @param x      The x-coordinate of the destroyed object's center.
+     * @param y      The y-coordinate of the destroyed object's center.
+     * @param random The random generator for the particle pattern.
+     */
+    public void emitBurst(ParticleEngine engine, double x, double y, GameRandom random) {
+        for (int layer = 1; layer < COLORS.length; layer++) {
+            emit(engine, layer, x, y, random);
+        }
+    }
+
+    private void emit(ParticleEngine engine, int layer, double x, double y, GameRandom random) {
+        engine.emit(x, y, MAX_DISTANCE[layer], MAX_SIZE[layer], PARTICLES[layer], speed[layer],
+                engine.addColor(COLORS[layer]), random);
+    }
+
+    /**
+     * Gets the number of ticks the flash is visible.
+     *
+     * @return The flash lifetime in ticks.
+     */
+    public int getFlashTicks() {
+        return flashTicks;
+    }
+
+    /**
+     * Gets the number of ticks the burst is visible, which is the lifetime of the whole explosion.
+     *
+     * @return The burst lifetime in ticks.
+     */
+    public int getBurstTicks() {
+        return burstTicks;
+    }
+
+    /**
+     * Gets the pre-rendered animation of the preset, rendering it on the first call.
+     *
+     * @return The explosion sheet.
+     */
+    public synchronized ExplosionSheet getSheet() {
+        if (sheet == null) {
+            sheet = new ExplosionSheet(this, VARIANTS);
+        }
+        return sheet;
+    }
+}
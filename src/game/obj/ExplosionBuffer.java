@@ -0,0 +1,167 @@
+package game.obj;
+
+import java.awt.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The ExplosionBuffer class stores the live explosions drawn from an ExplosionSheet, in parallel
+ * primitive arrays like BulletBuffer. An explosion is only its two origins, its age and its variant:
+ * updating it increments the age, and finished explosions are removed by moving the last explosion
+ * into their slot (swap-remove).
+ */
+public class ExplosionBuffer {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Explosion slots; only the first count entries are in use
+    private float[] flashX = new float[INITIAL_CAPACITY];
+    private float[] flashY = new float[INITIAL_CAPACITY];
+    private float[] burstX = new float[INITIAL_CAPACITY];
+    private float[] burstY = new float[INITIAL_CAPACITY];
+    private int[] age = new int[INITIAL_CAPACITY];
+    private byte[] variant = new byte[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Adds an explosion.
+     *
+     * @param flashX  The x-coordinate of the hit.
+     * @param flashY  The y-coordinate of the hit.
+     * @param burstX  The x-coordinate of the destroyed object's center.
+     * @param burstY  The y-coordinate of the destroyed object's center.
+     * @param variant The particle pattern, below Explosion.VARIANTS.
+     */
+    public void add(double flashX, double flashY, double burstX, double burstY, int variant) {
+        if (count == age.length) {
+            grow(count * 2);
+        }
+        this.flashX[count] = (float) flashX;
+        this.flashY[count] = (float) flashY;
+        this.burstX[count] = (float) burstX;
+        this.burstY[count] = (float) burstY;
+        this.age[count] = 0;
+        this.variant[count] = (byte) variant;
+        count++;
+    }
+
+    private void grow(int capacity) {
+        flashX = Arrays.copyOf(flashX, capacity);
+        flashY = Arrays.copyOf(flashY, capacity);
+        burstX = Arrays.copyOf(burstX, capacity);
+        burstY = Arrays.copyOf(burstY, capacity);
+        age = Arrays.copyOf(age, capacity);
+        variant = Arrays.copyOf(variant, capacity);
+    }
+
+    /**
+     * Ages every explosion by one tick and removes the finished ones.
+     *
+     * @param lifetime The number of ticks an explosion lasts.
+     */
+    public void update(int lifetime) {
+        int i = 0;
+        while (i < count) {
+            if (++age[i] < lifetime) {
+                i++;
+            } else {
+                // Swap-remove: move the last explosion into this slot and check it next
+                int last = --count;
+                flashX[i] = flashX[last];
+                flashY[i] = flashY[last];
+                burstX[i] = burstX[last];
+                burstY[i] = burstY[last];
+                age[i] = age[last];
+                variant[i] = variant[last];
+            }
+        }
+    }
+
+    /**
+     * Draws every live explosion from a sheet.
+     *
+     * @param g2    The Graphics2D object used for drawing.
+     * @param sheet The rendered explosion preset.
+     */
+    public void draw(Graphics2D g2, ExplosionSheet sheet) {
+        for (int i = 0; i < count; i++) {
+            sheet.draw(g2, variant[i], age[i], flashX[i], flashY[i], burstX[i], burstY[i]);
+        }
+    }
+
+    /**
+     * Copies every explosion into another buffer, e.g. a render snapshot.
+     *
+     * @param target The buffer to overwrite.
+     */
+    public void copyTo(ExplosionBuffer target) {
+        if (target.age.length < count) {
+            target.grow(count);
+        }
+        System.arraycopy(flashX, 0, target.flashX, 0, count);
+        System.arraycopy(flashY, 0, target.flashY, 0, count);
+        System.arraycopy(burstX, 0, target.burstX, 0, count);
+        System.arraycopy(burstY, 0, target.burstY, 0, count);
+        System.arraycopy(age, 0, target.age, 0, count);
+        System.arraycopy(variant, 0, target.variant, 0, count);
+        target.count = count;
+    }
+
+    /**
+     * Removes every explosion.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Gets the number of live explosions.
+     *
+     * @return The explosion count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Writes every live explosion.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeFloat(flashX[i]);
+            out.writeFloat(flashY[i]);
+            out.writeFloat(burstX[i]);
+            out.writeFloat(burstY[i]);
+            out.writeInt(age[i]);
+            out.writeByte(variant[i]);
+        }
+    }
+
+    /**
+     * Replaces the explosions with the ones written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The input to read from.
+     * @throws IOException If the input cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        int n = in.readInt();
+        if (n > age.length) {
+            grow(n);
+        }
+        for (int i = 0; i < n; i++) {
+            flashX[i] = in.readFloat();
+            flashY[i] = in.readFloat();
+            burstX[i] = in.readFloat();
+            burstY[i] = in.readFloat();
+            age[i] = in.readInt();
+            variant[i] = in.readByte();
+        }
+        count = n;
+    }
+}
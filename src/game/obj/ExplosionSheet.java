@@ -0,0 +1,104 @@
+package game.obj;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The ExplosionSheet class holds the explosion preset rendered once into animation frames,
+ * for a few variants of the random particle pattern. Drawing an explosion from the sheet costs one
+ * image blit for the flash and one for the burst per frame, instead of filling every particle.
+ *
+ * The frames are rendered by simulating the preset in a ParticleEngine and drawing it every
+ * FRAME_TICKS ticks, so they look like the simulated particles at a lower animation rate.
+ * Each frame is cropped to the area its particles can reach at that age.
+ */
+public class ExplosionSheet {
+
+    public static final int FRAME_TICKS = 4; // Ticks between two animation frames
+
+    private final BufferedImage[][] flash; // [variant][frame], centered on the hit location
+    private final BufferedImage[][] burst; // [variant][frame], centered on the destroyed object
+    private final int variants;
+    private long bytes;
+
+    /**
+     * Constructor to render the sheet of an explosion preset.
+     *
+     * @param explosion The preset to render.
+     * @param variants  The number of particle patterns.
+     */
+    public ExplosionSheet(Explosion explosion, int variants) {
+        long startTime = System.nanoTime();
+        this.variants = variants;
+        flash = new BufferedImage[variants][];
+        burst = new BufferedImage[variants][];
+        for (int v = 0; v < variants; v++) {
+            // Emit in the same order as the simulation, from a fixed seed per variant
+            GameRandom random = new GameRandom(v + 1);
+            ParticleEngine flashParticles = new ParticleEngine();
+            ParticleEngine burstParticles = new ParticleEngine();
+            explosion.addColors(flashParticles);
+            explosion.addColors(burstParticles);
+            explosion.emitFlash(flashParticles, 0, 0, random);
+            explosion.emitBurst(burstParticles, 0, 0, random);
+            flash[v] = render(flashParticles, explosion.getFlashTicks());
+            burst[v] = render(burstParticles, explosion.getBurstTicks());
+        }
+        AssetRegistry.record("explosion sheet, " + variants * (flash[0].length + burst[0].length) + " frames",
+                System.nanoTime() - startTime, bytes);
+    }
+
+    private BufferedImage[] render(ParticleEngine particles, int ticks) {
+        BufferedImage[] frames = new BufferedImage[(ticks + FRAME_TICKS - 1) / FRAME_TICKS];
+        for (int frame = 0; frame < frames.length; frame++) {
+            int half = (int) Math.ceil(particles.getMaxReach()) + 1;
+            BufferedImage image = new BufferedImage(half * 2, half * 2, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2 = image.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON); // As in the game
+            g2.translate(half, half);
+            particles.draw(g2);
+            g2.dispose();
+            frames[frame] = image;
+            bytes += (long) image.getWidth() * image.getHeight() * 4;
+            for (int i = 0; i < FRAME_TICKS; i++) {
+                particles.update();
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Draws one explosion.
+     *
+     * @param g2      The Graphics2D object used for drawing.
+     * @param variant The particle pattern.
+     * @param age     The ticks since the explosion started.
+     * @param flashX  The x-coordinate of the hit.
+     * @param flashY  The y-coordinate of the hit.
+     * @param burstX  The x-coordinate of the destroyed object's center.
+     * @param burstY  The y-coordinate of the destroyed object's center.
+     */
+    public void draw(Graphics2D g2, int variant, int age, float flashX, float flashY, float burstX, float burstY) {
+        int v = variant % variants;
+        int frame = age / FRAME_TICKS;
+        if (frame < flash[v].length) {
+            drawCentered(g2, flash[v][frame], flashX, flashY);
+        }
+        if (frame < burst[v].length) {
+            drawCentered(g2, burst[v][frame], burstX, burstY);
+        }
+    }
+
+    private static void drawCentered(Graphics2D g2, BufferedImage image, float x, float y) {
+        g2.drawImage(image, Math.round(x) - image.getWidth() / 2, Math.round(y) - image.getHeight() / 2, null);
+    }
+
+    /**
+     * Gets the approximate memory of the rendered frames.
+     *
+     * @return The size of the frames in bytes.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,81 @@
+package game.obj;
+
+/**
+ * The GameRandom class is the random number generator of the simulation.
+ * It is a small xorshift64* generator whose whole state is one long, so the state can be
+ * saved in a replay keyframe and restored later to continue the exact same sequence.
+ * Unlike java.util.Random it is not thread-safe; it must only be used by the simulation thread.
+ */
+public class GameRandom {
+
+    private long state;
+
+    /**
+     * Constructor to create a generator from a seed.
+     *
+     * @param seed The seed. Equal seeds produce equal sequences.
+     */
+    public GameRandom(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Restarts the sequence from a seed.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        // Scramble the seed so that small seeds do not start with a weak state; the state must not be 0
+        long s = (seed ^ 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        state = s == 0 ? 0x9E3779B97F4A7C15L : s;
+    }
+
+    /**
+     * Gets the current state of the generator.
+     *
+     * @return The state, to be restored with {@link #setState(long)}.
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state saved with {@link #getState()}.
+     *
+     * @param state The state.
+     */
+    public void setState(long state) {
+        if (state == 0) {
+            throw new IllegalArgumentException("Random state must not be 0");
+        }
+        this.state = state;
+    }
+
+    /**
+     * Gets the next 64 random bits.
+     *
+     * @return A random long.
+     */
+    public long nextLong() {
+        long s = state;
+        s ^= s >>> 12;
+        s ^= s << 25;
+        s ^= s >>> 27;
+        state = s;
+        return s * 0x2545F4914F6CDD1DL;
+    }
+
+    /**
+     * Gets a random int between 0 (inclusive) and the bound (exclusive).
+     *
+     * @param bound The upper bound, must be positive.
+     * @return A random int in [0, bound).
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        // Multiply the top 31 bits by the bound instead of using a modulo, which favors small values
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+}
@@ -11,6 +11,9 @@ import java.awt.geom.Rectangle2D;
  *
  */
 public class HpRender {
+    private static final Color BAR_BACKGROUND = new Color(70, 70, 70);
+    private static final Color BAR_COLOR = new Color(253, 91, 91);
+
     // Instance of HP class to manage the health points of the entity
     private final HP hp;
 
@@ -23,26 +26,23 @@ public class HpRender {
     }
 
     /**
-     * Renders the HP bar above the entity's shape on the screen.
-     * The HP bar is displayed as a small rectangle indicating the current health.
+     * Draws an HP bar at the origin of the current transformation.
      *
-     * @param g2 The Graphics2D object used for drawing the HP bar.
-     * @param shape The shape of the entity whose HP is being rendered.
-     * @param y The vertical offset for positioning the HP bar.
+     * @param g2    The Graphics2D object used for drawing the HP bar.
+     * @param bar   A rectangle owned by the caller, reused for both parts of the bar.
+     * @param hpY   The vertical position of the bar.
+     * @param ratio The current HP divided by the maximum HP.
      */
-    protected void hpRender(Graphics2D g2, Shape shape, double y) {
-        if (hp.getCurrentHP()!=hp.getMAX_HP()){
-        // Calculate the Y position for the HP bar based on the entity's shape
-        double hpY = shape.getBounds().getY() - y - 10;
+    public static void drawHpBar(Graphics2D g2, Rectangle2D.Double bar, double hpY, double ratio) {
         // Draw the background of the HP bar (grey color)
-        g2.setColor(new Color(70, 70, 70));
-        g2.fill(new Rectangle2D.Double(0, hpY, Player.PLAYER_SIZE, 2));
+        g2.setColor(BAR_BACKGROUND);
+        bar.setRect(0, hpY, Player.PLAYER_SIZE, 2);
+        g2.fill(bar);
 
         // Draw the current HP bar (red color) based on the current HP percentage
-        g2.setColor(new Color(253, 91, 91));
-        double hpSize = hp.getCurrentHP() / hp.getMAX_HP() * Player.PLAYER_SIZE;
-        g2.fill(new Rectangle2D.Double(0, hpY, hpSize, 2));
-        }
+        g2.setColor(BAR_COLOR);
+        bar.setRect(0, hpY, ratio * Player.PLAYER_SIZE, 2);
+        g2.fill(bar);
     }
 
     /**
@@ -65,6 +65,33 @@ public class HpRender {
         return hp.getCurrentHP();
     }
 
+    /**
+     * Sets the current health points, e.g. when restoring a saved state.
+     *
+     * @param currentHP The current HP value.
+     */
+    public void setHp(double currentHP) {
+        hp.setCurrentHP(currentHP);
+    }
+
+    /**
+     * Retrieves the maximum health points.
+     *
+     * @return The maximum HP value.
+     */
+    public double getMaxHp() {
+        return hp.getMAX_HP();
+    }
+
+    /**
+     * Sets the maximum health points, e.g. when restoring a saved state.
+     *
+     * @param maxHP The maximum HP value.
+     */
+    public void setMaxHp(double maxHP) {
+        hp.setMAX_HP(maxHP);
+    }
+
     /**
      * Resets the current HP to the maximum HP value.
      */
@@ -0,0 +1,378 @@
+package game.obj;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The ParticleEngine class holds every live explosion particle in parallel primitive arrays
+ * (structure of arrays), like BulletBuffer does for bullets.
+ * An explosion emits a ring of particles that fly straight out from its origin and fade out
+ * over the last 70% of their way. Each particle stores its origin, its direction as a precomputed
+ * cosine and sine, its size, the distance it traveled, its maximum distance, its speed and an index
+ * into a small color palette, so updating all particles is one tight loop without trigonometry
+ * and finished particles are removed by moving the last particle into their slot (swap-remove).
+ *
+ * Drawing sorts the particles by color and by one of ALPHA_BUCKETS transparency levels,
+ * then fills each group with one color and composite, so drawing does not allocate and
+ * changes the graphics state once per group instead of once per particle. The particles are filled
+ * as whole device pixels, also under a scaling transform, which keeps them on the fast rectangle loop.
+ */
+public class ParticleEngine {
+
+    public static final int ALPHA_BUCKETS = 16; // Transparency levels used for drawing
+    private static final int MAX_COLORS = 256;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final AlphaComposite[] COMPOSITES = new AlphaComposite[ALPHA_BUCKETS];
+
+    static {
+        for (int i = 0; i < ALPHA_BUCKETS; i++) {
+            COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, i / (float) (ALPHA_BUCKETS - 1));
+        }
+    }
+
+    // Colors referenced by the particles
+    private Color[] palette = new Color[8];
+    private int colorCount;
+
+    // Particle slots; only the first count entries are in use
+    private float[] originX = new float[INITIAL_CAPACITY];
+    private float[] originY = new float[INITIAL_CAPACITY];
+    private float[] dirX = new float[INITIAL_CAPACITY];
+    private float[] dirY = new float[INITIAL_CAPACITY];
+    private float[] size = new float[INITIAL_CAPACITY];
+    private float[] distance = new float[INITIAL_CAPACITY];
+    private float[] maxDistance = new float[INITIAL_CAPACITY];
+    private float[] speed = new float[INITIAL_CAPACITY];
+    private byte[] color = new byte[INITIAL_CAPACITY];
+    private int count;
+
+    // Used while drawing: the particle order, the start of each color and alpha group, and the identity
+    // transform set while filling in device pixels
+    private int[] order = new int[0];
+    private int[] groupStart = new int[0];
+    private final AffineTransform identity = new AffineTransform();
+
+    /**
+     * Adds a color to the palette, or finds it if it is already there.
+     *
+     * @param c The color.
+     * @return The palette index of the color.
+     * @throws IllegalStateException If the palette is full.
+     */
+    public int addColor(Color c) {
+        for (int i = 0; i < colorCount; i++) {
+            if (palette[i].equals(c)) {
+                return i;
+            }
+        }
+        if (colorCount == MAX_COLORS) {
+            throw new IllegalStateException("The particle palette is full");
+        }
+        if (colorCount == palette.length) {
+            palette = Arrays.copyOf(palette, colorCount * 2);
+        }
+        palette[colorCount] = c;
+        return colorCount++;
+    }
+
+    /**
+     * Emits a ring of particles, spread evenly around the origin with some random jitter.
+     *
+     * @param x           The x-coordinate of the origin.
+     * @param y           The y-coordinate of the origin.
+     * @param maxDistance The distance the particles travel before they disappear.
+     * @param maxSize     The maximum size of a particle.
+     * @param total       The number of particles.
+     * @param speed       The distance the particles move per update.
+     * @param colorIndex  The palette index of the particles' color.
+     * @param random      The simulation's random generator, used for the particle pattern.
+     */
+    public void emit(double x, double y, double maxDistance, int maxSize, int total, float speed, int colorIndex, GameRandom random) {
+        if (count + total > originX.length) {
+            grow(count + total);
+        }
+        float per = 360f / total;
+        for (int i = 0; i < total; i++) {
+            int r = random.nextInt((int) per) + 1;
+            int particleSize = random.nextInt(maxSize) + 1;
+            double angle = Math.toRadians(i * per + r);
+            originX[count] = (float) x;
+            originY[count] = (float) y;
+            dirX[count] = (float) Math.cos(angle);
+            dirY[count] = (float) Math.sin(angle);
+            size[count] = particleSize;
+            distance[count] = 0;
+            this.maxDistance[count] = (float) maxDistance;
+            this.speed[count] = speed;
+            color[count] = (byte) colorIndex;
+            count++;
+        }
+    }
+
+    private void grow(int needed) {
+        int capacity = Math.max(needed, originX.length * 2);
+        originX = Arrays.copyOf(originX, capacity);
+        originY = Arrays.copyOf(originY, capacity);
+        dirX = Arrays.copyOf(dirX, capacity);
+        dirY = Arrays.copyOf(dirY, capacity);
+        size = Arrays.copyOf(size, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+        maxDistance = Arrays.copyOf(maxDistance, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        color = Arrays.copyOf(color, capacity);
+    }
+
+    /**
+     * Moves every particle and removes the ones that reached their maximum distance.
+     */
+    public void update() {
+        int i = 0;
+        while (i < count) {
+            float d = distance[i] + speed[i];
+            if (d < maxDistance[i]) {
+                distance[i] = d;
+                i++;
+            } else {
+                // Swap-remove: move the last particle into this slot and check it next
+                int last = --count;
+                originX[i] = originX[last];
+                originY[i] = originY[last];
+                dirX[i] = dirX[last];
+                dirY[i] = dirY[last];
+                size[i] = size[last];
+                distance[i] = distance[last];
+                maxDistance[i] = maxDistance[last];
+                speed[i] = speed[last];
+                color[i] = color[last];
+            }
+        }
+    }
+
+    /**
+     * Gets the transparency of a particle at a distance from its origin.
+     * The particles fade out over the last 70% of their way.
+     *
+     * @param distance    The distance the particle has traveled.
+     * @param maxDistance The maximum distance the particle will travel.
+     * @return The alpha value, between 0 and 1.
+     */
+    public static float getAlpha(double distance, double maxDistance) {
+        float alpha = 1f;
+        // Fade out the particles as they approach the maximum distance
+        if (distance >= maxDistance - (maxDistance * 0.7f)) {
+            alpha = (float) ((maxDistance - distance) / (maxDistance * 0.7f));
+        }
+
+        // Ensure alpha is within valid bounds
+        if (alpha > 1) {
+            alpha = 1;
+        } else if (alpha < 0) {
+            alpha = 0;
+        }
+        return alpha;
+    }
+
+    /**
+     * Draws every live particle, grouped by color and transparency.
+     * The engine must not change while it is drawn.
+     *
+     * @param g2 The Graphics2D object used for drawing the particles.
+     */
+    public void draw(Graphics2D g2) {
+        draw(g2, 1);
+    }
+
+    /**
+     * Draws a share of the live particles, grouped by color and transparency: every stride-th particle
+     * of each group, so thinning out keeps the colors and the fading of the explosions.
+     * The particles are drawn with the rendering hints of the graphics; in software rendering, translucent
+     * rectangles fill much faster with antialiasing on (see QualityGovernor.getParticleAntialiasing()).
+     * The engine must not change while it is drawn.
+     *
+     * @param g2     The Graphics2D object used for drawing the particles.
+     * @param stride The step between two drawn particles of a group, 1 to draw all of them.
+     */
+    public void draw(Graphics2D g2, int stride) {
+        int groups = colorCount * ALPHA_BUCKETS;
+        if (groupStart.length < groups + 1) {
+            groupStart = new int[groups + 1];
+        }
+        if (order.length < count) {
+            order = new int[Math.max(count, order.length * 2)];
+        }
+
+        // Counting sort by group: count, turn the counts into offsets, then place the particles
+        Arrays.fill(groupStart, 0, groups + 1, 0);
+        for (int i = 0; i < count; i++) {
+            groupStart[group(i) + 1]++;
+        }
+        for (int g = 1; g <= groups; g++) {
+            groupStart[g] += groupStart[g - 1];
+        }
+        for (int i = 0; i < count; i++) {
+            order[groupStart[group(i)]++] = i;
+        }
+        // The offsets now point at the end of each group
+
+        // Fill in device pixels when the transform only scales and translates, since a scaled
+        // rectangle would be rendered as a general shape
+        AffineTransform oldTransform = g2.getTransform();
+        double scaleX = 1;
+        double scaleY = 1;
+        double translateX = 0;
+        double translateY = 0;
+        if ((oldTransform.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE)) == 0) {
+            scaleX = oldTransform.getScaleX();
+            scaleY = oldTransform.getScaleY();
+            translateX = oldTransform.getTranslateX();
+            translateY = oldTransform.getTranslateY();
+            g2.setTransform(identity);
+        }
+
+        Composite oldComposite = g2.getComposite();
+        int start = 0;
+        for (int g = 0; g < groups; g++) {
+            int end = groupStart[g];
+            int bucket = g % ALPHA_BUCKETS;
+            if (end > start && bucket > 0) { // Fully transparent particles are skipped
+                g2.setColor(palette[g / ALPHA_BUCKETS]);
+                g2.setComposite(COMPOSITES[bucket]);
+                for (int k = start; k < end; k += stride) {
+                    int i = order[k];
+                    float s = size[i];
+                    float half = s / 2;
+                    double x = originX[i] + dirX[i] * distance[i] - half;
+                    double y = originY[i] + dirY[i] * distance[i] - half;
+                    int px = (int) Math.round(x * scaleX + translateX);
+                    int py = (int) Math.round(y * scaleY + translateY);
+                    g2.fillRect(px, py, (int) Math.round(s * scaleX), (int) Math.round(s * scaleY));
+                }
+            }
+            start = end;
+        }
+        g2.setComposite(oldComposite);
+        g2.setTransform(oldTransform);
+    }
+
+    private int group(int i) {
+        int bucket = Math.round(getAlpha(distance[i], maxDistance[i]) * (ALPHA_BUCKETS - 1));
+        return (color[i] & 0xFF) * ALPHA_BUCKETS + bucket;
+    }
+
+    /**
+     * Copies every particle and the palette into another engine, e.g. a render snapshot.
+     * The target keeps its arrays when they are large enough, so copying does not allocate.
+     *
+     * @param target The engine to overwrite.
+     */
+    public void copyTo(ParticleEngine target) {
+        if (target.originX.length < count) {
+            target.grow(count);
+        }
+        System.arraycopy(originX, 0, target.originX, 0, count);
+        System.arraycopy(originY, 0, target.originY, 0, count);
+        System.arraycopy(dirX, 0, target.dirX, 0, count);
+        System.arraycopy(dirY, 0, target.dirY, 0, count);
+        System.arraycopy(size, 0, target.size, 0, count);
+        System.arraycopy(distance, 0, target.distance, 0, count);
+        System.arraycopy(maxDistance, 0, target.maxDistance, 0, count);
+        System.arraycopy(speed, 0, target.speed, 0, count);
+        System.arraycopy(color, 0, target.color, 0, count);
+        target.count = count;
+        if (target.palette.length < colorCount) {
+            target.palette = new Color[palette.length];
+        }
+        System.arraycopy(palette, 0, target.palette, 0, colorCount);
+        target.colorCount = colorCount;
+    }
+
+    /**
+     * Removes every particle. The palette is kept.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Gets the farthest any live particle reaches from its origin, including its size.
+     *
+     * @return The largest distance plus half size, 0 without particles.
+     */
+    public float getMaxReach() {
+        float reach = 0;
+        for (int i = 0; i < count; i++) {
+            reach = Math.max(reach, distance[i] + size[i] / 2);
+        }
+        return reach;
+    }
+
+    /**
+     * Gets the number of live particles.
+     *
+     * @return The particle count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Writes the palette and every live particle.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(colorCount);
+        for (int i = 0; i < colorCount; i++) {
+            out.writeInt(palette[i].getRGB());
+        }
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeFloat(originX[i]);
+            out.writeFloat(originY[i]);
+            out.writeFloat(dirX[i]);
+            out.writeFloat(dirY[i]);
+            out.writeFloat(size[i]);
+            out.writeFloat(distance[i]);
+            out.writeFloat(maxDistance[i]);
+            out.writeFloat(speed[i]);
+            out.writeByte(color[i]);
+        }
+    }
+
+    /**
+     * Replaces the particles with the ones written by {@link #writeState(DataOutput)}.
+     * Saved colors missing from the palette are added to it.
+     *
+     * @param in The input to read from.
+     * @throws IOException If the input cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        int[] colorMap = new int[in.readInt()];
+        for (int i = 0; i < colorMap.length; i++) {
+            colorMap[i] = addColor(new Color(in.readInt(), true));
+        }
+        count = 0;
+        int n = in.readInt();
+        if (n > originX.length) {
+            grow(n);
+        }
+        for (int i = 0; i < n; i++) {
+            originX[i] = in.readFloat();
+            originY[i] = in.readFloat();
+            dirX[i] = in.readFloat();
+            dirY[i] = in.readFloat();
+            size[i] = in.readFloat();
+            distance[i] = in.readFloat();
+            maxDistance[i] = in.readFloat();
+            speed[i] = in.readFloat();
+            color[i] = (byte) colorMap[in.readByte() & 0xFF];
+        }
+        count = n;
+    }
+}
@@ -1,14 +1,15 @@
 package game.obj;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.geom.AffineTransform;
-import java.awt.geom.Area;
+import game.collision.TransformedHull;
+
 import java.awt.geom.Path2D;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * The Player class represents the player's character in the game.
- * It handles the player's position, movement, and rendering.
+ * It handles the player's position, movement and collision hull; WorldSnapshot draws it.
  */
 public class Player extends HpRender{
 
@@ -24,20 +25,27 @@ public class Player extends HpRender{
     private boolean alive = true; //Whether the player is alive or not
     private float angle = 0f; // Current angle of the player
 
-    // Images for the player
-    private final Image image; // Default image of the player
-    private final Image image_speed; // Image of the player when speeding up
-    private final Area  playerShape;
+    private final TransformedHull hull; // Convex hull of the player in world coordinates
+    private boolean hullDirty = true; // Whether the hull must be recomputed before its next use
 
     /**
-     * Constructor to initialize the Player object and load images.
+     * Constructor to initialize the Player object with its shared collision hull.
      */
     public Player() {
 
-        // Load the player's default and speed-up images from the resources
+        // Look up the player's collision hull in the shared assets
         super(new HP(30,40));
-        this.image = new ImageIcon(getClass().getResource("/game/image/plane.png")).getImage();
-        image_speed = new ImageIcon(getClass().getResource("/game/image/plane_speed.png")).getImage();
+        hull = new TransformedHull(AssetRegistry.getHull(AssetRegistry.PLAYER_HULL), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
+        hull.update(x, y, angle);
+    }
+
+    /**
+     * Creates the outline of the player in local coordinates.
+     * The AssetRegistry builds the shared collision hull from it once.
+     *
+     * @return The outline of the player.
+     */
+    static Path2D createOutline() {
         Path2D p = new Path2D.Double();
         p.moveTo(0,15);
         p.lineTo(20,5);
@@ -45,7 +53,7 @@ public class Player extends HpRender{
         p.lineTo(20,PLAYER_SIZE -5);
         p.lineTo(0,PLAYER_SIZE-15);
         p.closePath();
-        playerShape =new Area(p);
+        return p;
     }
 
     /**
@@ -57,6 +65,7 @@ public class Player extends HpRender{
     public void changeLocation(double x, double y) {
         this.x = x;
         this.y = y;
+        moved();
     }
 
     /**
@@ -64,8 +73,11 @@ public class Player extends HpRender{
      * This method is called in each frame of the game to animate the player's movement.
      */
     public void update() {
-        x += Math.cos(Math.toRadians(angle)) * speed;
-        y += Math.sin(Math.toRadians(angle)) * speed;
+        if (speed != 0) {
+            x += Math.cos(Math.toRadians(angle)) * speed;
+            y += Math.sin(Math.toRadians(angle)) * speed;
+            moved();
+        }
     }
 
     /**
@@ -79,35 +91,17 @@ public class Player extends HpRender{
         } else if (angle > 359) {
             angle = 0;
         }
-        this.angle = angle;
+        if (angle != this.angle) {
+            this.angle = angle;
+            moved();
+        }
     }
 
     /**
-     * Draws the player on the screen.
-     *
-     * @param g2 The Graphics2D object used for drawing the player.
+     * Marks the cached hull as outdated after the player moved or turned.
      */
-    public void draw(Graphics2D g2) {
-        // Save the original transformation
-        AffineTransform oldTransform = g2.getTransform();
-
-        // Translate the coordinate system to the player's position
-        g2.translate(x, y);
-
-        // Rotate the player based on the current angle
-        AffineTransform tran = new AffineTransform();
-        tran.rotate(Math.toRadians(angle + 45), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
-
-        // Draw the player image (use the speed-up image if the player is speeding up)
-        g2.drawImage(speedUp ? image_speed : image, tran, null);
-        hpRender(g2,getShape(),y);
-        // Restore the original transformation
-        g2.setTransform(oldTransform);
-
-        //Test
-//        g2.setColor(new Color(12,173,84));
-//        g2.draw(getShape());
-//        g2.draw(getShape().getBounds());
+    private void moved() {
+        hullDirty = true;
     }
 
     /**
@@ -149,14 +143,21 @@ public class Player extends HpRender{
             speed += 0.01f; // Gradually increase the speed
         }
     }
-    public Area getShape() {
-        AffineTransform afx = new AffineTransform();
-        afx.translate(x, y);
-        afx.rotate(Math.toRadians(angle), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
-        return new Area(afx.createTransformedShape(playerShape));
+    /**
+     * Returns the convex hull of the player in world coordinates, moved to its current position and angle.
+     * The hull and its bounding box are only recomputed when the player moved since the last call.
+     * This is used by the collision broad and narrow phases.
+     *
+     * @return The hull of the player.
+     */
+    public TransformedHull getHull() {
+        if (hullDirty) {
+            hull.update(x, y, angle);
+            hullDirty = false;
+        }
+        return hull;
     }
 
-
     /**
      * Decreases the player's speed, simulating a speed-down.
      * The speed is gradually reduced, but it cannot go below 0.
@@ -169,6 +170,15 @@ public class Player extends HpRender{
             speed -= 0.003f; // Gradually decrease the speed
         }
     }
+    /**
+     * Checks whether the player is speeding up, which selects the speed-up image.
+     *
+     * @return true if the player is speeding up.
+     */
+    public boolean isSpeedUp() {
+        return speedUp;
+    }
+
     /**
      * Gets the current Status (dead/alive) of the player.
      *
@@ -183,11 +193,45 @@ public class Player extends HpRender{
     }
 
 
+    /**
+     * Writes the simulation state of the player (position, angle, speed, HP and status).
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeDouble(x);
+        out.writeDouble(y);
+        out.writeFloat(angle);
+        out.writeFloat(speed);
+        out.writeBoolean(speedUp);
+        out.writeBoolean(alive);
+        out.writeDouble(getHp());
+    }
+
+    /**
+     * Restores the simulation state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The input to read from.
+     * @throws IOException If the input cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        x = in.readDouble();
+        y = in.readDouble();
+        angle = in.readFloat();
+        speed = in.readFloat();
+        speedUp = in.readBoolean();
+        alive = in.readBoolean();
+        setHp(in.readDouble());
+        moved();
+    }
+
     public void reset() {
         alive = true;
         resetHP();
         angle = 0;
         speed = 0;
+        moved();
 
     }
 }
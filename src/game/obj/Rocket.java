@@ -1,37 +1,57 @@
 package game.obj;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.geom.AffineTransform;
-import java.awt.geom.Area;
+import game.collision.TransformedHull;
+
 import java.awt.geom.Path2D;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * The Rocket class represents a rocket entity in the game.
- * It handles the rocket's position, movement, rendering, and collision detection.
- * The rocket has a defined shape and an associated image, and it inherits
- * from the HpRender class to manage and display its health points (HP).
+ * It handles the rocket's position, movement and collision hull; WorldSnapshot draws it.
+ * The rocket has a defined shape, and it inherits from the HpRender class to manage its health points (HP).
  */
 public class Rocket extends HpRender {
     // Constants
     public static final double ROCKET_SIZE = 50;  // Size of the rocket
+    public static final float DEFAULT_SPEED = 0.3f;  // Speed of a normal rocket
+    public static final double DEFAULT_HP = 20;  // HP of a normal rocket
 
     // Rocket properties
     private double x;  // X-coordinate of the rocket's position
     private double y;  // Y-coordinate of the rocket's position
-    private final float speed = 0.3f;  // Speed of the rocket
+    private float speed;  // Speed of the rocket
     private float angle = 0;  // Angle of the rocket's movement in degrees
-    private final Image image;  // Image representing the rocket
-    private final Area rocketShape;  // Shape of the rocket for collision detection
+    private final TransformedHull hull;  // Convex hull of the rocket in world coordinates
+    private boolean hullDirty = true;  // Whether the hull must be recomputed before its next use
 
     /**
      * Constructor for the Rocket class.
-     * Initializes the rocket's HP and sets up its shape and image.
+     * Initializes the rocket's HP and looks up its shared collision hull.
      */
     public Rocket() {
-        super(new HP(20, 20));  // Initialize rocket's HP with maximum and current HP of 20
-        this.image = new ImageIcon(getClass().getResource("/game/image/rocket.png")).getImage();  // Load rocket image
+        this(DEFAULT_SPEED, DEFAULT_HP);  // Normal rocket with a maximum and current HP of 20
+    }
+
+    /**
+     * Constructor for a rocket with a custom speed and HP, used by the stress test.
+     * @param speed The distance the rocket moves per update.
+     * @param hp The maximum and initial HP of the rocket.
+     */
+    public Rocket(float speed, double hp) {
+        super(new HP(hp, hp));
+        this.speed = speed;
+        hull = new TransformedHull(AssetRegistry.getHull(AssetRegistry.ROCKET_HULL), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
+        hull.update(x, y, angle);
+    }
 
+    /**
+     * Creates the outline of the rocket in local coordinates.
+     * The AssetRegistry builds the shared collision hull from it once.
+     * @return The outline of the rocket.
+     */
+    static Path2D createOutline() {
         // Define the shape of the rocket using a Path2D object
         Path2D path = new Path2D.Double();
         path.moveTo(0, ROCKET_SIZE / 2);
@@ -41,7 +61,7 @@ public class Rocket extends HpRender {
         path.lineTo(ROCKET_SIZE - 5, ROCKET_SIZE - 13);
         path.lineTo(15, ROCKET_SIZE - 10);
         path.closePath();  // Close the path to complete the shape
-        rocketShape = new Area(path);  // Assign the path to the rocketShape
+        return path;
     }
 
     /**
@@ -50,6 +70,7 @@ public class Rocket extends HpRender {
     public void update() {
         x += Math.cos(Math.toRadians(angle)) * speed;  // Update X-coordinate
         y += Math.sin(Math.toRadians(angle)) * speed;  // Update Y-coordinate
+        moved();
     }
 
     /**
@@ -60,6 +81,7 @@ public class Rocket extends HpRender {
     public void changeLocation(double x, double y) {
         this.x = x;
         this.y = y;
+        moved();
     }
 
     /**
@@ -73,37 +95,17 @@ public class Rocket extends HpRender {
         } else if (angle > 359) {
             angle = 0;
         }
-        this.angle = angle;
+        if (angle != this.angle) {
+            this.angle = angle;
+            moved();
+        }
     }
 
     /**
-     * Renders the rocket on the screen.
-     * The rocket is drawn at its current position and angle.
-     * @param g2 The Graphics2D object used for drawing.
+     * Marks the cached hull as outdated after the rocket moved or turned.
      */
-    public void draw(Graphics2D g2) {
-        // Save the current transformation
-        AffineTransform oldTransform = g2.getTransform();
-
-        // Move to the rocket's position
-        g2.translate(x, y);
-
-        // Rotate the rocket image based on its angle
-        AffineTransform tran = new AffineTransform();
-        tran.rotate(Math.toRadians(angle + 45), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
-        g2.drawImage(image, tran, null);  // Draw the rocket image
-
-        // Render the rocket's HP bar
-        Shape shape = getRocketShape();
-        hpRender(g2, shape, y);
-
-        // Restore the original transformation
-        g2.setTransform(oldTransform);
-
-//        Debug code to visualize the rocket's shape and bounding box
-//        g2.setColor(Color.green);
-//        g2.draw(shape);
-//        g2.draw(shape.getBounds2D());
+    private void moved() {
+        hullDirty = true;
     }
 
     /**
@@ -131,15 +133,46 @@ public class Rocket extends HpRender {
     }
 
     /**
-     * Returns the transformed shape of the rocket, taking into account its position and angle.
-     * This is used for collision detection.
-     * @return The transformed shape of the rocket.
+     * Returns the convex hull of the rocket in world coordinates, moved to its current position and angle.
+     * The hull and its bounding box are only recomputed when the rocket moved since the last call.
+     * This is used by the collision broad and narrow phases.
+     * @return The hull of the rocket.
+     */
+    public TransformedHull getHull() {
+        if (hullDirty) {
+            hull.update(x, y, angle);
+            hullDirty = false;
+        }
+        return hull;
+    }
+
+    /**
+     * Writes the simulation state of the rocket (position, angle, speed and HP).
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeDouble(x);
+        out.writeDouble(y);
+        out.writeFloat(angle);
+        out.writeFloat(speed);
+        out.writeDouble(getMaxHp());
+        out.writeDouble(getHp());
+    }
+
+    /**
+     * Restores the simulation state written by {@link #writeState(DataOutput)}.
+     * @param in The input to read from.
+     * @throws IOException If the input cannot be read.
      */
-    public Area getRocketShape() {
-        AffineTransform afx = new AffineTransform();
-        afx.translate(x, y);
-        afx.rotate(Math.toRadians(angle), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
-        return new Area(afx.createTransformedShape(rocketShape));
+    public void readState(DataInput in) throws IOException {
+        x = in.readDouble();
+        y = in.readDouble();
+        angle = in.readFloat();
+        speed = in.readFloat();
+        setMaxHp(in.readDouble());
+        setHp(in.readDouble());
+        moved();
     }
 
     /**
@@ -150,8 +183,8 @@ public class Rocket extends HpRender {
      * @return true if the rocket is within the screen bounds, false otherwise.
      */
     public boolean check(int width, int height) {
-        Rectangle size = getRocketShape().getBounds();
-        if (x <= -size.getWidth() || y < -size.getHeight() || x > width || y > height) {
+        TransformedHull bounds = getHull();
+        if (x <= -(bounds.getMaxX() - bounds.getMinX()) || y < -(bounds.getMaxY() - bounds.getMinY()) || x > width || y > height) {
             return false;
         } else {
             return true;
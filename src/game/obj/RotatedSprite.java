@@ -0,0 +1,142 @@
+package game.obj;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * The RotatedSprite class draws an image rotated around its center using a cache of pre-rotated frames.
+ * The rotation is quantized to a fixed number of angles, and each frame is rendered once, on first use,
+ * into an image compatible with the screen. Drawing is then a plain blit without a transform.
+ *
+ * All sprites share one memory cap. When a new frame would exceed the cap, or when caching is disabled,
+ * the sprite is rotated while drawing instead.
+ */
+public class RotatedSprite {
+
+    // Settings shared by all sprites
+    private static int angles = 360;
+    private static long maxBytes = 32L * 1024 * 1024;
+    private static long usedBytes;
+
+    private final Image image;
+    private final int size; // Width and height of the source image
+    private final int frameSize; // Width and height of a rotated frame, large enough for any angle
+    private Image[] frames;
+
+    /**
+     * Constructor to create a rotated sprite for a square image.
+     *
+     * @param image The source image.
+     */
+    public RotatedSprite(BufferedImage image) {
+        this.image = image;
+        this.size = Math.max(image.getWidth(), image.getHeight());
+        int diagonal = (int) Math.ceil(size * Math.sqrt(2)) + 2;
+        // Keep the same parity as the source so that the image sits exactly in the middle of the frame
+        this.frameSize = (diagonal - size) % 2 == 0 ? diagonal : diagonal + 1;
+    }
+
+    /**
+     * Configures the cache of all sprites. If the angle count changes, each sprite drops the frames it
+     * rendered before on its next draw and their memory is returned to the cap.
+     *
+     * @param angleCount The number of pre-rendered angles per sprite, or 0 to disable the cache.
+     * @param maxBytes   The memory cap for all pre-rendered frames in bytes.
+     */
+    public static synchronized void configure(int angleCount, long maxBytes) {
+        RotatedSprite.angles = angleCount;
+        RotatedSprite.maxBytes = maxBytes;
+    }
+
+    /**
+     * Draws the sprite rotated around its center.
+     *
+     * @param g2    The Graphics2D object used for drawing.
+     * @param x     The x-coordinate of the unrotated sprite's top-left corner.
+     * @param y     The y-coordinate of the unrotated sprite's top-left corner.
+     * @param angle The rotation in degrees.
+     */
+    public void draw(Graphics2D g2, double x, double y, double angle) {
+        Image frame = getFrame(angle);
+        if (frame != null) {
+            int offset = (size - frameSize) / 2;
+            g2.drawImage(frame, (int) Math.round(x) + offset, (int) Math.round(y) + offset, null);
+        } else {
+            AffineTransform oldTransform = g2.getTransform();
+            g2.translate(x, y);
+            AffineTransform tran = new AffineTransform();
+            tran.rotate(Math.toRadians(angle), size / 2.0, size / 2.0);
+            g2.drawImage(image, tran, null);
+            g2.setTransform(oldTransform);
+        }
+    }
+
+    /**
+     * Gets the pre-rotated frame closest to the angle, rendering it on first use.
+     *
+     * @param angle The rotation in degrees.
+     * @return The frame, or null if caching is disabled or the memory cap is reached.
+     */
+    private Image getFrame(double angle) {
+        int count = angles;
+        if (frames != null && frames.length != count) {
+            releaseFrames(); // Rendered for another angle count
+        }
+        if (count <= 0) {
+            return null;
+        }
+        if (frames == null) {
+            frames = new Image[count];
+        }
+        double turn = angle / 360.0;
+        int index = (int) Math.round((turn - Math.floor(turn)) * count) % count;
+        Image frame = frames[index];
+        if (frame == null) {
+            frame = renderFrame(index * 360.0 / count);
+            frames[index] = frame;
+        }
+        return frame;
+    }
+
+    private void releaseFrames() {
+        long bytes = 0;
+        for (Image frame : frames) {
+            if (frame != null) {
+                bytes += (long) frameSize * frameSize * 4;
+            }
+        }
+        synchronized (RotatedSprite.class) {
+            usedBytes -= bytes;
+        }
+        frames = null;
+    }
+
+    private Image renderFrame(double angle) {
+        long bytes = (long) frameSize * frameSize * 4;
+        synchronized (RotatedSprite.class) {
+            if (usedBytes + bytes > maxBytes) {
+                return null;
+            }
+            usedBytes += bytes;
+        }
+        BufferedImage frame = createCompatibleImage(frameSize, frameSize);
+        Graphics2D g = frame.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int offset = (frameSize - size) / 2;
+        g.rotate(Math.toRadians(angle), frameSize / 2.0, frameSize / 2.0);
+        g.drawImage(image, offset, offset, null);
+        g.dispose();
+        return frame;
+    }
+
+    private static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+}
@@ -0,0 +1,86 @@
+package game.obj.sound;
+
+import javax.sound.sampled.*;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * The SampleBank class decodes sound files once into PCM sample buffers in the mixer's format.
+ * Every sample is converted to 16-bit signed stereo at {@link #SAMPLE_RATE}, resampling it if needed,
+ * so the SoundMixer can add voices together without any further conversion.
+ */
+public class SampleBank {
+
+    // Format of every decoded sample and of the mixer output line
+    public static final float SAMPLE_RATE = 44100f;
+    public static final int CHANNELS = 2;
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+
+    /**
+     * Decodes a sound file into interleaved stereo samples.
+     *
+     * @param url The URL of the sound file.
+     * @return The samples, or an empty array if the file cannot be decoded.
+     */
+    public static short[] load(URL url) {
+        if (url == null) {
+            return new short[0];
+        }
+        try (InputStream file = new BufferedInputStream(url.openStream());
+             AudioInputStream source = AudioSystem.getAudioInputStream(file)) {
+            AudioFormat sourceFormat = source.getFormat();
+            int channels = sourceFormat.getChannels();
+
+            // Let Java Sound decode to 16-bit little-endian PCM at the original rate
+            AudioFormat pcm = new AudioFormat(sourceFormat.getSampleRate(), 16, channels, true, false);
+            try (AudioInputStream decoded = AudioSystem.getAudioInputStream(pcm, source)) {
+                byte[] bytes = readAll(decoded);
+                int frames = bytes.length / (2 * channels);
+                return resample(bytes, frames, channels, sourceFormat.getSampleRate());
+            }
+        } catch (IOException | UnsupportedAudioFileException | IllegalArgumentException e) {
+            System.err.println(e);
+            return new short[0];
+        }
+    }
+
+    /**
+     * Converts 16-bit little-endian frames to stereo at the mixer's rate with linear interpolation.
+     */
+    private static short[] resample(byte[] bytes, int frames, int channels, float sourceRate) {
+        double step = sourceRate / SAMPLE_RATE;
+        int outFrames = (int) (frames / step);
+        short[] out = new short[outFrames * CHANNELS];
+        for (int i = 0; i < outFrames; i++) {
+            double position = i * step;
+            int frame = (int) position;
+            double fraction = position - frame;
+            int next = Math.min(frame + 1, frames - 1);
+            for (int c = 0; c < CHANNELS; c++) {
+                int sourceChannel = Math.min(c, channels - 1); // Mono is copied to both channels
+                int a = sample(bytes, frame, channels, sourceChannel);
+                int b = sample(bytes, next, channels, sourceChannel);
+                out[i * CHANNELS + c] = (short) Math.round(a + (b - a) * fraction);
+            }
+        }
+        return out;
+    }
+
+    private static int sample(byte[] bytes, int frame, int channels, int channel) {
+        int index = (frame * channels + channel) * 2;
+        return (short) ((bytes[index] & 0xff) | (bytes[index + 1] << 8));
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,68 +1,87 @@
 package game.obj.sound;
 
-import javax.sound.sampled.*;
-import java.io.IOException;
-import java.net.URL;
+import game.jfr.SoundDispatchEvent;
 
 /**
  * The Sound class is responsible for managing and playing various sound effects in the game.
+ * The sound files are decoded once into a sample bank, and every effect is played as a new voice
+ * of one shared SoundMixer, so effects overlap instead of cutting each other off.
  */
 public class Sound {
-    // URLs to the sound files for different game actions
-    private final URL shoot;
-    private final URL hit;
-    private final URL destroy;
-    private final URL gameOver;
-    private final URL gameStart;
+    // Decoded samples for different game actions
+    private final short[] shoot;
+    private final short[] hit;
+    private final short[] destroy;
+    private final short[] gameOver;
+    private final short[] gameStart;
     private boolean gameOverPlayed = false; // Flag to track if game over sound has played
 
-    // Clip object to control playback of sound
-    private Clip clip;
+    // Mixer playing all sound effects through one output line
+    private final SoundMixer mixer = new SoundMixer();
 
     /**
-     * Constructor to initialize sound URLs by loading them from the resources folder.
+     * Constructor to decode the sound files from the resources folder and start the mixer.
      */
     public Sound() {
-        this.shoot = this.getClass().getClassLoader().getResource("game/obj/sound/laserGunShoot.wav");
-        this.hit = this.getClass().getClassLoader().getResource("game/obj/sound/hit.wav");
-        this.destroy = this.getClass().getClassLoader().getResource("game/obj/sound/explosion.wav");
-        this.gameOver = this.getClass().getClassLoader().getResource("game/obj/sound/gameOver.wav");
-        this.gameStart = this.getClass().getClassLoader().getResource("game/obj/sound/gameStart.wav");
+        this(true);
+    }
+
+    /**
+     * Constructor to create the sound effects, optionally silent.
+     * A silent Sound loads no files and opens no audio line, which is used for headless runs.
+     *
+     * @param enabled true to play sounds, false for a silent Sound.
+     */
+    public Sound(boolean enabled) {
+        ClassLoader loader = this.getClass().getClassLoader();
+        this.shoot = load(enabled, loader, "game/obj/sound/laserGunShoot.wav");
+        this.hit = load(enabled, loader, "game/obj/sound/hit.wav");
+        this.destroy = load(enabled, loader, "game/obj/sound/explosion.wav");
+        this.gameOver = load(enabled, loader, "game/obj/sound/gameOver.wav");
+        this.gameStart = load(enabled, loader, "game/obj/sound/gameStart.wav");
+        if (enabled) {
+            mixer.start();
+        }
+    }
+
+    private static short[] load(boolean enabled, ClassLoader loader, String path) {
+        return enabled ? SampleBank.load(loader.getResource(path)) : new short[0];
     }
 
     /**
      * Plays the shooting sound effect.
      */
     public void soundShoot() {
-        play(shoot);
+        play("shoot", shoot);
     }
 
     /**
      * Plays the hit sound effect.
      */
     public void soundHit() {
-        play(hit);
+        play("hit", hit);
     }
 
     /**
      * Plays the destroy sound effect.
      */
     public void soundDestroy() {
-        play(destroy);
+        play("destroy", destroy);
     }
 
     /**
      * Plays the game over sound effect, ensuring it plays only once.
      */
     public void soundGameOver() {
-        if (!clip.isRunning() && !gameOverPlayed) {
-            playOnce(gameOver);
+        if (!gameOverPlayed) {
+            play("gameOver", gameOver);
             gameOverPlayed = true; // Mark the sound as played
         }
     }
 
     public void resetGameOverFlag() {
         gameOverPlayed = false; // Call this when you want to allow the sound to be played again
+        mixer.stop(gameOver);
     }
 
 
@@ -70,67 +89,30 @@ public class Sound {
      * Plays the game start sound effect.
      */
     public void soundGameStart() {
-        play(gameStart);
+        play("gameStart", gameStart);
     }
 
     /**
-     * Plays a sound from a given URL, stopping any currently playing sound before starting a new one.
-     *
-     * @param url The URL of the sound file to play.
+     * Stops the mixer and releases the output line.
      */
-    private void play(URL url) {
-        try {
-            // Stop the current sound if it is still playing
-            if (clip != null && clip.isRunning()) {
-                clip.stop();
-            }
-            // Load the sound file
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(url);
-            // Get a new Clip instance
-            clip = AudioSystem.getClip();
-            // Open the Clip and start playing the sound
-            clip.open(audioIn);
-            clip.start();
-            // Close the AudioInputStream to release resources
-            audioIn.close();
-        } catch (IOException | LineUnavailableException | UnsupportedAudioFileException e) {
-            // Print any exceptions that occur
-            System.err.println(e);
-        }
+    public void close() {
+        mixer.stop();
     }
 
     /**
-     * Plays a sound from a given URL only once, ensuring that the Clip is closed after playing.
+     * Plays a decoded sample as a new voice of the mixer.
      *
-     * @param url The URL of the sound file to play.
+     * @param name   The name of the sound effect, reported to Flight Recorder.
+     * @param sample The samples to play.
      */
-    private void playOnce(URL url) {
-        try {
-            // Stop the current sound if it is still playing
-            if (clip != null && clip.isRunning()) {
-                clip.stop();
-            }
-            // Load the sound file
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(url);
-            // Get a new Clip instance
-            clip = AudioSystem.getClip();
-            // Open the Clip
-            clip.open(audioIn);
-            // Set the Clip to play only once
-            clip.loop(0);
-            // Start playing the sound
-            clip.start();
-            // Add a listener to close the Clip after the sound has finished playing
-            clip.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP) {
-                    clip.close();
-                }
-            });
-            // Close the AudioInputStream to release resources
-            audioIn.close();
-        } catch (IOException | LineUnavailableException | UnsupportedAudioFileException e) {
-            // Print any exceptions that occur
-            System.err.println(e);
+    private void play(String name, short[] sample) {
+        SoundDispatchEvent event = new SoundDispatchEvent();
+        event.begin();
+        mixer.play(sample);
+        event.end();
+        if (event.shouldCommit()) {
+            event.sound = name;
+            event.commit();
         }
     }
 }
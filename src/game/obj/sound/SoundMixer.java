@@ -0,0 +1,221 @@
+package game.obj.sound;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+
+/**
+ * The SoundMixer class plays many overlapping samples through one SourceDataLine.
+ * A single mixing thread adds up to {@link #MAX_VOICES} voices into a small buffer and writes it
+ * to the line, so starting a sound only queues a sample and never opens a line or decodes a file.
+ * When all voices are busy, the oldest voice is replaced.
+ *
+ * The voices belong to the mixing thread. Other threads only queue samples to start and samples to stop
+ * under a lock; the mixing thread takes both queues under the lock once per chunk and mixes outside it,
+ * so play() and stop() never wait for a chunk to be mixed.
+ */
+public class SoundMixer {
+
+    private static final int MAX_VOICES = 32;
+    private static final int MAX_PENDING = 64;
+    private static final int CHUNK_FRAMES = 256; // Frames mixed per write, about 6 ms
+    private static final int LINE_BUFFER_FRAMES = 2048; // Frames buffered by the line, about 46 ms
+
+    // Voices being played, owned by the mixing thread: sample data and the next sample index
+    private final short[][] voices = new short[MAX_VOICES][];
+    private final int[] positions = new int[MAX_VOICES];
+    private final long[] started = new long[MAX_VOICES];
+
+    // Queues guarded by pending: samples queued by play() and by stop(), not yet picked up by the mixing
+    // thread, and the samples of the voices after the last chunk
+    private final short[][] pending = new short[MAX_PENDING][];
+    private int pendingCount;
+    private final short[][] stopped = new short[MAX_PENDING][];
+    private int stoppedCount;
+    private final short[][] playing = new short[MAX_VOICES][];
+
+    // Queues taken over by the mixing thread for the current chunk
+    private final short[][] starting = new short[MAX_PENDING][];
+    private final short[][] stopping = new short[MAX_PENDING][];
+
+    private final int[] mix = new int[CHUNK_FRAMES * SampleBank.CHANNELS];
+    private final byte[] output = new byte[CHUNK_FRAMES * SampleBank.CHANNELS * 2];
+    private SourceDataLine line;
+    private volatile boolean running;
+    private long voiceCounter;
+
+    /**
+     * Opens the output line and starts the mixing thread.
+     *
+     * @return true if the mixer is running, false if no audio output is available.
+     */
+    public boolean start() {
+        try {
+            line = AudioSystem.getSourceDataLine(SampleBank.FORMAT);
+            line.open(SampleBank.FORMAT, LINE_BUFFER_FRAMES * SampleBank.FORMAT.getFrameSize());
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.err.println("Sound disabled: " + e);
+            return false;
+        }
+        running = true;
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (running) {
+                    mixChunk();
+                    line.write(output, 0, output.length); // Blocks until the line has room, pacing the thread
+                }
+                line.drain();
+                line.close();
+            }
+        }, "sound-mixer");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Stops the mixing thread and closes the output line.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * Queues a sample to be played. Does nothing if too many samples are already queued.
+     *
+     * @param sample The interleaved stereo samples from the SampleBank.
+     */
+    public void play(short[] sample) {
+        if (!running || sample.length == 0) {
+            return;
+        }
+        synchronized (pending) {
+            if (pendingCount < MAX_PENDING) {
+                pending[pendingCount++] = sample;
+            }
+        }
+    }
+
+    /**
+     * Stops every voice that plays the given sample, and drops the queued starts of the sample.
+     * The voices stop at the next chunk.
+     *
+     * @param sample The sample to stop.
+     */
+    public void stop(short[] sample) {
+        synchronized (pending) {
+            int kept = 0;
+            for (int p = 0; p < pendingCount; p++) {
+                if (pending[p] != sample) {
+                    pending[kept++] = pending[p];
+                }
+            }
+            Arrays.fill(pending, kept, pendingCount, null);
+            pendingCount = kept;
+            if (stoppedCount < MAX_PENDING && !contains(stopped, stoppedCount, sample)) {
+                stopped[stoppedCount++] = sample;
+            }
+        }
+    }
+
+    /**
+     * Checks whether any voice is playing the given sample.
+     *
+     * @param sample The sample to look for.
+     * @return true if the sample is playing, false otherwise.
+     */
+    public boolean isPlaying(short[] sample) {
+        synchronized (pending) {
+            // A stop drops the starts queued before it, so a queued start always plays
+            return contains(pending, pendingCount, sample)
+                    || !contains(stopped, stoppedCount, sample) && contains(playing, MAX_VOICES, sample);
+        }
+    }
+
+    /**
+     * Applies the queued stops and starts and mixes the next chunk of all voices into the output buffer.
+     */
+    private void mixChunk() {
+        int startCount;
+        int stopCount;
+        synchronized (pending) {
+            startCount = pendingCount;
+            System.arraycopy(pending, 0, starting, 0, startCount);
+            Arrays.fill(pending, 0, startCount, null);
+            pendingCount = 0;
+            stopCount = stoppedCount;
+            System.arraycopy(stopped, 0, stopping, 0, stopCount);
+            Arrays.fill(stopped, 0, stopCount, null);
+            stoppedCount = 0;
+        }
+
+        // Stops first: the starts taken with them were all queued after the stop
+        for (int s = 0; s < stopCount; s++) {
+            for (int v = 0; v < MAX_VOICES; v++) {
+                if (voices[v] == stopping[s]) {
+                    voices[v] = null;
+                }
+            }
+            stopping[s] = null;
+        }
+        for (int s = 0; s < startCount; s++) {
+            startVoice(starting[s]);
+            starting[s] = null;
+        }
+
+        Arrays.fill(mix, 0);
+        for (int v = 0; v < MAX_VOICES; v++) {
+            short[] sample = voices[v];
+            if (sample == null) {
+                continue;
+            }
+            int position = positions[v];
+            int count = Math.min(mix.length, sample.length - position);
+            for (int i = 0; i < count; i++) {
+                mix[i] += sample[position + i];
+            }
+            positions[v] = position + count;
+            if (positions[v] >= sample.length) {
+                voices[v] = null; // Voice finished
+            }
+        }
+        synchronized (pending) {
+            System.arraycopy(voices, 0, playing, 0, MAX_VOICES);
+        }
+
+        // Clamp the sum to 16 bits and write it little-endian
+        for (int i = 0; i < mix.length; i++) {
+            int value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            output[i * 2] = (byte) value;
+            output[i * 2 + 1] = (byte) (value >> 8);
+        }
+    }
+
+    private static boolean contains(short[][] samples, int count, short[] sample) {
+        for (int i = 0; i < count; i++) {
+            if (samples[i] == sample) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startVoice(short[] sample) {
+        int slot = 0;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voices[v] == null) {
+                slot = v;
+                break;
+            }
+            if (started[v] < started[slot]) {
+                slot = v; // Remember the oldest voice in case every voice is busy
+            }
+        }
+        voices[slot] = sample;
+        positions[slot] = 0;
+        started[slot] = voiceCounter++;
+    }
+}
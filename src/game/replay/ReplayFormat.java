@@ -0,0 +1,63 @@
+package game.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The ReplayFormat class defines the binary layout of a replay file.
+ *
+ * A replay starts with a header: the magic number, the format version, the random seed,
+ * the world width and height, the tick rate, the keyframe interval, the wave script and whether
+ * explosions are drawn from sprites.
+ * It is followed by records, each starting with a type byte and the number of ticks since the
+ * previous record as a variable-length integer:
+ * <ul>
+ *     <li>INPUT: the packed key state from this tick on (one byte).</li>
+ *     <li>KEYFRAME: the key state of this tick, the length of the world state and the state
+ *     itself, taken before the tick runs. Keyframes let a replay seek without re-simulating from the start.</li>
+ *     <li>END: the tick at which the recording stopped.</li>
+ * </ul>
+ * Key states are only written when they change, so a replay costs a few bytes per key press
+ * plus one keyframe every few seconds.
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x53475250; // "SGRP"
+    // 2: rockets store their speed and maximum HP, 3: wave script and scheduler, 4: particle engine,
+    // 5: explosion mode and sprite explosions
+    static final int VERSION = 5;
+
+    static final int INPUT = 1;
+    static final int KEYFRAME = 2;
+    static final int END = 3;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Writes a non-negative number in 7-bit groups, low group first.
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a number written by {@link #writeVarLong(DataOutput, long)}.
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in replay");
+    }
+}
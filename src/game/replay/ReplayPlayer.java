@@ -0,0 +1,300 @@
+package game.replay;
+
+import game.component.GameWorld;
+import game.component.Key;
+import game.obj.sound.Sound;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * The ReplayPlayer class re-runs a session written by ReplayRecorder.
+ * It creates a GameWorld with the recorded size and seed, restores the first keyframe and then
+ * feeds the recorded key state into the world before every tick, so the session plays out exactly
+ * as it was recorded. The caller decides the pace: calling {@link #step()} from a SimulationLoop
+ * plays in real time, calling it in a plain loop plays as fast as the CPU allows.
+ *
+ * {@link #seek(long)} jumps to any tick by restoring the closest earlier keyframe and simulating
+ * the remaining ticks. When a replayed tick reaches a keyframe, the live world state is compared
+ * with the recorded one, which detects any loss of determinism.
+ */
+public class ReplayPlayer {
+
+    private final byte[] data;
+    private final long seed;
+    private final int keyframeTicks;
+    private final Key key = new Key(); // Keys fed to the world, instead of the keyboard
+    private final GameWorld world;
+
+    // Records of the file, in file order
+    private int recordCount;
+    private long[] recordTicks = new long[64];
+    private int[] recordTypes = new int[64];
+    private int[] recordStates = new int[64];
+    private int[] stateOffsets = new int[64]; // Start of a keyframe's world state in data
+    private int[] stateLengths = new int[64];
+    private long endTick;
+
+    private int next; // Next record to apply
+    private final ByteArrayOutputStream checkBytes = new ByteArrayOutputStream(4096);
+    private final DataOutputStream checkOut = new DataOutputStream(checkBytes);
+    private int keyframesChecked;
+    private int mismatches;
+    private long firstMismatchTick = -1;
+
+    /**
+     * Constructor to load a replay file.
+     *
+     * @param path  The replay file.
+     * @param sound The sound effects of the replayed world, or a silent Sound.
+     * @throws IOException If the file cannot be read or is not a valid replay.
+     */
+    public ReplayPlayer(String path, Sound sound) throws IOException {
+        this(Files.readAllBytes(Paths.get(path)), sound);
+    }
+
+    /**
+     * Constructor to load a replay from memory.
+     *
+     * @param data  The content of a replay file.
+     * @param sound The sound effects of the replayed world, or a silent Sound.
+     * @throws IOException If the data is not a valid replay.
+     */
+    public ReplayPlayer(byte[] data, Sound sound) throws IOException {
+        this.data = data;
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != ReplayFormat.MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        int version = in.readUnsignedShort();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        seed = in.readLong();
+        int width = in.readInt();
+        int height = in.readInt();
+        int tickRate = in.readInt();
+        keyframeTicks = in.readInt();
+        String waveScript = in.readUTF();
+        boolean spriteExplosions = in.readBoolean();
+        if (tickRate != GameWorld.TICK_RATE) {
+            throw new IOException("Replay was recorded at " + tickRate + " ticks/s, the game runs at " + GameWorld.TICK_RATE);
+        }
+        readRecords(in);
+        if (recordCount == 0 || recordTypes[0] != ReplayFormat.KEYFRAME) {
+            throw new IOException("Replay does not start with a keyframe");
+        }
+
+        world = new GameWorld(width, height, key, sound, seed);
+        world.setWaveScript(waveScript);
+        world.setSpriteExplosions(spriteExplosions);
+        seek(recordTicks[0]);
+    }
+
+    private void readRecords(DataInputStream in) throws IOException {
+        long tick = 0;
+        try {
+            while (true) {
+                int type = in.readUnsignedByte();
+                tick += ReplayFormat.readVarLong(in);
+                if (type == ReplayFormat.END) {
+                    endTick = tick;
+                    return;
+                }
+                if (recordCount == recordTicks.length) {
+                    int capacity = recordCount * 2;
+                    recordTicks = Arrays.copyOf(recordTicks, capacity);
+                    recordTypes = Arrays.copyOf(recordTypes, capacity);
+                    recordStates = Arrays.copyOf(recordStates, capacity);
+                    stateOffsets = Arrays.copyOf(stateOffsets, capacity);
+                    stateLengths = Arrays.copyOf(stateLengths, capacity);
+                }
+                recordTicks[recordCount] = tick;
+                recordTypes[recordCount] = type;
+                recordStates[recordCount] = in.readUnsignedByte();
+                if (type == ReplayFormat.KEYFRAME) {
+                    int length = (int) ReplayFormat.readVarLong(in);
+                    stateOffsets[recordCount] = data.length - in.available();
+                    if (length > in.available()) {
+                        throw new EOFException();
+                    }
+                    stateLengths[recordCount] = length;
+                    in.skipBytes(length);
+                } else if (type != ReplayFormat.INPUT) {
+                    throw new IOException("Unknown replay record " + type);
+                }
+                endTick = tick + 1;
+                recordCount++;
+            }
+        } catch (EOFException e) {
+            // The game stopped without closing the recording; play what was written
+            System.err.println("Replay is truncated, playing up to tick " + endTick);
+        }
+    }
+
+    /**
+     * Simulates the next recorded tick.
+     *
+     * @return false if the end of the replay was reached and nothing was simulated.
+     */
+    public boolean step() {
+        long tick = world.getTickCount();
+        if (tick >= endTick) {
+            return false;
+        }
+        while (next < recordCount && recordTicks[next] <= tick) {
+            if (recordTypes[next] == ReplayFormat.KEYFRAME) {
+                checkKeyframe(next);
+            }
+            key.setState(recordStates[next]);
+            next++;
+        }
+        world.tick();
+        return true;
+    }
+
+    /**
+     * Moves the replay to a tick by restoring the closest earlier keyframe and
+     * simulating the ticks after it.
+     *
+     * @param tick The tick to move to, clamped to the recorded range.
+     */
+    public void seek(long tick) {
+        tick = Math.max(recordTicks[0], Math.min(tick, endTick));
+        int keyframe = 0;
+        for (int i = 0; i < recordCount && recordTicks[i] <= tick; i++) {
+            if (recordTypes[i] == ReplayFormat.KEYFRAME) {
+                keyframe = i;
+            }
+        }
+        // Seeking forward past the keyframe already applied just simulates ahead
+        if (tick < world.getTickCount() || next <= keyframe) {
+            try {
+                world.readState(new DataInputStream(
+                        new ByteArrayInputStream(data, stateOffsets[keyframe], stateLengths[keyframe])));
+            } catch (IOException e) {
+                throw new IllegalStateException("Corrupt keyframe at tick " + recordTicks[keyframe], e);
+            }
+            key.setState(recordStates[keyframe]);
+            next = keyframe + 1;
+        }
+        while (world.getTickCount() < tick) {
+            step();
+        }
+    }
+
+    private void checkKeyframe(int record) {
+        checkBytes.reset();
+        try {
+            world.writeState(checkOut);
+            checkOut.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        keyframesChecked++;
+        int offset = stateOffsets[record];
+        if (!Arrays.equals(checkBytes.toByteArray(), 0, checkBytes.size(), data, offset, offset + stateLengths[record])) {
+            mismatches++;
+            if (firstMismatchTick < 0) {
+                firstMismatchTick = recordTicks[record];
+            }
+        }
+    }
+
+    /**
+     * Gets the replayed world.
+     *
+     * @return The world.
+     */
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Gets the tick the replay will simulate next.
+     *
+     * @return The current tick.
+     */
+    public long getTick() {
+        return world.getTickCount();
+    }
+
+    /**
+     * Gets the first recorded tick.
+     *
+     * @return The start tick.
+     */
+    public long getStartTick() {
+        return recordTicks[0];
+    }
+
+    /**
+     * Gets the tick after the last recorded tick.
+     *
+     * @return The end tick.
+     */
+    public long getEndTick() {
+        return endTick;
+    }
+
+    /**
+     * Checks whether every recorded tick has been replayed.
+     *
+     * @return true at the end of the replay.
+     */
+    public boolean isFinished() {
+        return world.getTickCount() >= endTick;
+    }
+
+    /**
+     * Gets the random seed of the recorded session.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of ticks between keyframes.
+     *
+     * @return The keyframe interval in ticks.
+     */
+    public int getKeyframeTicks() {
+        return keyframeTicks;
+    }
+
+    /**
+     * Gets the number of keyframes compared with the replayed world so far.
+     *
+     * @return The number of checked keyframes.
+     */
+    public int getKeyframesChecked() {
+        return keyframesChecked;
+    }
+
+    /**
+     * Gets the number of keyframes that did not match the replayed world.
+     *
+     * @return The number of mismatches, 0 if the replay is bit-identical so far.
+     */
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    /**
+     * Gets the tick of the first keyframe that did not match the replayed world.
+     *
+     * @return The tick, or -1 if all keyframes matched.
+     */
+    public long getFirstMismatchTick() {
+        return firstMismatchTick;
+    }
+}
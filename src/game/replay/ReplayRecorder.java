@@ -0,0 +1,151 @@
+package game.replay;
+
+import game.component.GameWorld;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The ReplayRecorder class writes a game session to a replay file (see ReplayFormat).
+ * It is attached with {@link GameWorld#setRecorder(ReplayRecorder)} and called by the simulation
+ * thread at the start of every tick with the sampled keys. Only key changes are written,
+ * plus a keyframe of the whole world state at a fixed tick interval.
+ *
+ * Recording can start at any tick: the first recorded tick is always a keyframe.
+ */
+public class ReplayRecorder implements Closeable {
+
+    // Default distance between keyframes: 10 seconds of game time
+    public static final int DEFAULT_KEYFRAME_TICKS = GameWorld.TICK_RATE * 10;
+
+    private final DataOutputStream out;
+    private final int keyframeTicks;
+    private final ByteArrayOutputStream stateBytes = new ByteArrayOutputStream(4096);
+    private final DataOutputStream stateOut = new DataOutputStream(stateBytes);
+    private long lastTick = -1; // Tick of the last written record
+    private int lastState = -1; // Last written key state
+    private long startTick = -1; // First recorded tick
+    private long endTick; // Tick after the last recorded tick
+    private boolean closed;
+
+    /**
+     * Constructor to record a world into a file.
+     *
+     * @param path          The file to write.
+     * @param world         The world to record.
+     * @param keyframeTicks The number of ticks between keyframes.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalStateException If the world runs a stress test.
+     */
+    public ReplayRecorder(String path, GameWorld world, int keyframeTicks) throws IOException {
+        this(new FileOutputStream(path), world, keyframeTicks);
+    }
+
+    /**
+     * Constructor to record a world into a stream. The stream is closed with the recorder.
+     *
+     * @param stream        The stream to write.
+     * @param world         The world to record.
+     * @param keyframeTicks The number of ticks between keyframes.
+     * @throws IOException If the header cannot be written.
+     * @throws IllegalStateException If the world runs a stress test, whose waves depend on frame times
+     *                               and cannot be replayed.
+     */
+    public ReplayRecorder(OutputStream stream, GameWorld world, int keyframeTicks) throws IOException {
+        if (keyframeTicks <= 0) {
+            stream.close();
+            throw new IllegalArgumentException("keyframeTicks must be positive");
+        }
+        if (world.isStressTest()) {
+            stream.close();
+            throw new IllegalStateException("A stress test cannot be recorded");
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+        this.keyframeTicks = keyframeTicks;
+        out.writeInt(ReplayFormat.MAGIC);
+        out.writeShort(ReplayFormat.VERSION);
+        out.writeLong(world.getSeed());
+        out.writeInt(world.getWidth());
+        out.writeInt(world.getHeight());
+        out.writeInt(GameWorld.TICK_RATE);
+        out.writeInt(keyframeTicks);
+        out.writeUTF(world.getWaveScript());
+        out.writeBoolean(world.isSpriteExplosions());
+    }
+
+    /**
+     * Records the keys sampled for the tick the world is about to simulate.
+     * Called by the simulation thread before the tick runs.
+     *
+     * @param world The recorded world.
+     * @param state The packed key state of the tick.
+     */
+    public synchronized void record(GameWorld world, int state) {
+        if (closed) {
+            return;
+        }
+        long tick = world.getTickCount();
+        try {
+            if (startTick < 0 || (tick - startTick) % keyframeTicks == 0) {
+                if (startTick < 0) {
+                    startTick = tick;
+                }
+                stateBytes.reset();
+                world.writeState(stateOut);
+                stateOut.flush();
+                writeRecord(ReplayFormat.KEYFRAME, tick);
+                out.writeByte(state);
+                ReplayFormat.writeVarLong(out, stateBytes.size());
+                stateBytes.writeTo(out);
+                lastState = state;
+            } else if (state != lastState) {
+                writeRecord(ReplayFormat.INPUT, tick);
+                out.writeByte(state);
+                lastState = state;
+            }
+            endTick = tick + 1;
+        } catch (IOException e) {
+            // Stop recording but keep the game running
+            System.err.println("Replay recording stopped: " + e);
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Writes the end record and closes the file. Further ticks are not recorded.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeRecord(ReplayFormat.END, Math.max(endTick, lastTick));
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeRecord(int type, long tick) throws IOException {
+        out.writeByte(type);
+        ReplayFormat.writeVarLong(out, lastTick < 0 ? tick : tick - lastTick);
+        lastTick = tick;
+    }
+
+    private void closeQuietly() {
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println(e);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package game.wave;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The TimerWheel class is a hierarchical timing wheel driven by simulation ticks.
+ * It holds pending timers in LEVELS wheels of SLOTS slots each. The first wheel has one slot per tick,
+ * every further wheel has one slot per full turn of the wheel below it. A timer is put into the
+ * lowest wheel that covers its remaining delay; when a wheel turns over, the timers of the next slot
+ * of the wheel above are moved down ("cascaded"). Scheduling and cancelling are O(1) and advancing by
+ * one tick only touches the timers that expire or cascade, however many timers are pending.
+ *
+ * Each slot is an intrusive doubly linked list, so no memory is allocated besides the timers themselves.
+ * Timers expiring at the same tick are returned in the order they were scheduled, independent of how they
+ * moved through the wheels, so a simulation using the wheel stays deterministic after a state restore.
+ *
+ * @param <T> The type of the items attached to the timers.
+ */
+public class TimerWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS; // Slots per wheel
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4; // Covers 2^24 ticks, about 23 hours at 200 ticks per second
+
+    private final Timer<T>[] slots; // Head of each slot's list, LEVELS * SLOTS entries
+    private Timer<T> expired; // Expired timers not yet polled, in schedule order
+    private long now; // Current tick of the wheel
+    private long nextSequence; // Schedule order of the next timer
+    private int size; // Number of pending timers
+
+    /**
+     * A scheduled item. Timers are created by {@link TimerWheel#schedule(Object, long)}.
+     *
+     * @param <T> The type of the item.
+     */
+    public static final class Timer<T> {
+        private final T item;
+        private final long deadline;
+        private final long sequence;
+        private Timer<T> prev;
+        private Timer<T> next;
+        private int slot = -1; // Index in the wheel's slots, -1 when not pending
+
+        private Timer(T item, long deadline, long sequence) {
+            this.item = item;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Gets the scheduled item.
+         *
+         * @return The item.
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Gets the tick the timer expires at.
+         *
+         * @return The deadline.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Checks whether the timer is still waiting to expire.
+         *
+         * @return true if the timer is pending.
+         */
+        public boolean isPending() {
+            return slot >= 0;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * Constructor to create an empty wheel at tick 0.
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel() {
+        slots = (Timer<T>[]) new Timer<?>[LEVELS * SLOTS];
+    }
+
+    /**
+     * Schedules an item to expire after a delay.
+     *
+     * @param item  The item.
+     * @param delay The number of ticks until the item expires. A delay of 0 or 1 expires at the next {@link #advance()}.
+     * @return The timer, which can be cancelled.
+     */
+    public Timer<T> schedule(T item, long delay) {
+        return scheduleAt(item, now + Math.max(1, delay), nextSequence++);
+    }
+
+    Timer<T> scheduleAt(T item, long deadline, long sequence) {
+        Timer<T> timer = new Timer<>(item, Math.max(deadline, now + 1), sequence);
+        nextSequence = Math.max(nextSequence, sequence + 1);
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a pending timer. Does nothing if the timer already expired or was cancelled.
+     *
+     * @param timer The timer to cancel.
+     */
+    public void cancel(Timer<T> timer) {
+        if (timer.slot >= 0) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Removes every pending and expired timer. The current tick is kept.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            Timer<T> timer = slots[i];
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.slot = -1;
+                timer.prev = null;
+                timer.next = null;
+                timer = next;
+            }
+            slots[i] = null;
+        }
+        expired = null;
+        size = 0;
+    }
+
+    /**
+     * Advances the wheel by one tick. The timers expiring at the new tick can then be taken with {@link #poll()}.
+     */
+    public void advance() {
+        now++;
+        // Cascade the higher wheels whose lower wheel just turned over
+        for (int level = 1; level < LEVELS; level++) {
+            if (((now >> ((level - 1) * BITS)) & MASK) != 0) {
+                break;
+            }
+            int slot = level * SLOTS + (int) ((now >> (level * BITS)) & MASK);
+            Timer<T> timer = slots[slot];
+            slots[slot] = null;
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                insert(timer);
+                timer = next;
+            }
+        }
+
+        // Every timer in the current slot of the first wheel expires now
+        int slot = (int) (now & MASK);
+        Timer<T> timer = slots[slot];
+        slots[slot] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.slot = -1;
+            addExpired(timer);
+            size--;
+            timer = next;
+        }
+    }
+
+    /**
+     * Takes the next expired timer, in schedule order.
+     *
+     * @return The timer, or null if no more timers expired at this tick.
+     */
+    public Timer<T> poll() {
+        Timer<T> timer = expired;
+        if (timer != null) {
+            expired = timer.next;
+            timer.next = null;
+        }
+        return timer;
+    }
+
+    /**
+     * Gets the current tick of the wheel.
+     *
+     * @return The number of ticks advanced so far.
+     */
+    public long getTime() {
+        return now;
+    }
+
+    /**
+     * Gets the number of pending timers.
+     *
+     * @return The pending timer count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds every pending timer to a list, in schedule order.
+     *
+     * @param out The list to add to.
+     */
+    public void getPending(List<Timer<T>> out) {
+        int start = out.size();
+        for (Timer<T> head : slots) {
+            for (Timer<T> timer = head; timer != null; timer = timer.next) {
+                out.add(timer);
+            }
+        }
+        out.subList(start, out.size()).sort(new Comparator<Timer<T>>() {
+            @Override
+            public int compare(Timer<T> a, Timer<T> b) {
+                return Long.compare(a.sequence, b.sequence);
+            }
+        });
+    }
+
+    long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Clears the wheel and moves it to a tick, before restoring saved timers with {@link #scheduleAt}.
+     */
+    void reset(long time, long sequence) {
+        clear();
+        now = time;
+        nextSequence = sequence;
+    }
+
+    private void insert(Timer<T> timer) {
+        long delay = timer.deadline - now;
+        int slot;
+        if (delay < SLOTS) {
+            slot = (int) (timer.deadline & MASK);
+        } else {
+            int level = 1;
+            while (level < LEVELS - 1 && delay >= 1L << ((level + 1) * BITS)) {
+                level++;
+            }
+            // Deadlines beyond the last wheel wait in its furthest slot and are placed again when it cascades
+            long deadline = Math.min(timer.deadline, now + (1L << (LEVELS * BITS)) - 1);
+            slot = level * SLOTS + (int) ((deadline >> (level * BITS)) & MASK);
+        }
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = slots[slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        slots[slot] = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.slot = -1;
+    }
+
+    private void addExpired(Timer<T> timer) {
+        // Keep the expired list sorted by schedule order; few timers expire at the same tick
+        if (expired == null || timer.sequence < expired.sequence) {
+            timer.next = expired;
+            expired = timer;
+            return;
+        }
+        Timer<T> at = expired;
+        while (at.next != null && at.next.sequence < timer.sequence) {
+            at = at.next;
+        }
+        timer.next = at.next;
+        at.next = timer;
+    }
+}
@@ -0,0 +1,241 @@
+package game.wave;
+
+import game.component.GameWorld;
+import game.obj.GameRandom;
+import game.obj.Rocket;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Wave class describes a group of rockets spawned together, once or repeatedly.
+ * Waves are written as scripts: steps separated by ';', each a list of name=value settings, e.g.
+ * {@code at=0 side=both every=600; at=2000 side=random count=20 times=3 every=200 speed=0.6}.
+ * <ul>
+ *     <li>at: the delay in ticks before the first spawn (default 0).</li>
+ *     <li>side: left, right, both (one rocket from each side per count) or random
+ *     (a random side, up to 30 degrees off straight across) (default both).</li>
+ *     <li>count: the number of rockets, or of pairs for both (default 1).</li>
+ *     <li>every: the ticks between repeated spawns, 0 to spawn once (default 0).</li>
+ *     <li>times: the number of spawns of a repeating wave, 0 to repeat until the game restarts (default 0).</li>
+ *     <li>speed and hp: the rockets' speed and HP (default those of a normal rocket).</li>
+ * </ul>
+ */
+public class Wave {
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int BOTH = 2;
+    public static final int RANDOM = 3;
+    private static final String[] SIDE_NAMES = {"left", "right", "both", "random"};
+
+    private final long start; // Ticks before the first spawn
+    private final int side;
+    private final int count;
+    private final int every; // Ticks between spawns, 0 to spawn once
+    private final int times; // Number of spawns, 0 for no limit
+    private final float speed;
+    private final double hp;
+    private int spawned; // Number of spawns so far
+    TimerWheel.Timer<Wave> timer; // Pending spawn, set by the WaveScheduler
+
+    /**
+     * Constructor to create a wave.
+     *
+     * @param start The delay in ticks before the first spawn.
+     * @param side  LEFT, RIGHT, BOTH or RANDOM.
+     * @param count The number of rockets per spawn, or of pairs for BOTH.
+     * @param every The ticks between spawns, 0 to spawn once.
+     * @param times The number of spawns of a repeating wave, 0 for no limit.
+     * @param speed The speed of the rockets.
+     * @param hp    The HP of the rockets.
+     */
+    public Wave(long start, int side, int count, int every, int times, float speed, double hp) {
+        if (start < 0 || side < LEFT || side > RANDOM || count < 0 || every < 0 || times < 0) {
+            throw new IllegalArgumentException("Invalid wave settings");
+        }
+        this.start = start;
+        this.side = side;
+        this.count = count;
+        this.every = every;
+        this.times = times;
+        this.speed = speed;
+        this.hp = hp;
+    }
+
+    /**
+     * Parses a wave script.
+     *
+     * @param script The script text.
+     * @return The waves in script order.
+     * @throws IllegalArgumentException If the script cannot be parsed.
+     */
+    public static List<Wave> parseScript(String script) {
+        List<Wave> waves = new ArrayList<>();
+        for (String step : script.split(";")) {
+            if (step.trim().isEmpty()) {
+                continue;
+            }
+            long start = 0;
+            int side = BOTH;
+            int count = 1;
+            int every = 0;
+            int times = 0;
+            float speed = Rocket.DEFAULT_SPEED;
+            double hp = Rocket.DEFAULT_HP;
+            for (String setting : step.trim().split("\\s+")) {
+                int separator = setting.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Missing '=' in wave setting: " + setting);
+                }
+                String name = setting.substring(0, separator);
+                String value = setting.substring(separator + 1);
+                switch (name) {
+                    case "at":
+                        start = Long.parseLong(value);
+                        break;
+                    case "side":
+                        side = parseSide(value);
+                        break;
+                    case "count":
+                        count = Integer.parseInt(value);
+                        break;
+                    case "every":
+                        every = Integer.parseInt(value);
+                        break;
+                    case "times":
+                        times = Integer.parseInt(value);
+                        break;
+                    case "speed":
+                        speed = Float.parseFloat(value);
+                        break;
+                    case "hp":
+                        hp = Double.parseDouble(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown wave setting: " + name);
+                }
+            }
+            waves.add(new Wave(start, side, count, every, times, speed, hp));
+        }
+        return waves;
+    }
+
+    private static int parseSide(String name) {
+        for (int i = 0; i < SIDE_NAMES.length; i++) {
+            if (SIDE_NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown wave side: " + name);
+    }
+
+    /**
+     * Creates a copy of the wave that has not spawned yet, e.g. to start a script again.
+     *
+     * @return The copy.
+     */
+    public Wave copy() {
+        return new Wave(start, side, count, every, times, speed, hp);
+    }
+
+    /**
+     * Spawns the rockets of the wave into a world.
+     *
+     * @param world The world to spawn into.
+     * @return The number of rockets spawned.
+     */
+    int spawn(GameWorld world) {
+        GameRandom random = world.getRandom();
+        int width = world.getWidth();
+        int height = world.getHeight();
+        int rockets = 0;
+        if (side == RANDOM) {
+            rockets = spawnRandom(world, count, speed, hp);
+        } else {
+            for (int i = 0; i < count; i++) {
+                if (side == LEFT || side == BOTH) {
+                    world.spawnRocket(0, random.nextInt(height - 50) + 25, 0, speed, hp);
+                    rockets++;
+                }
+                if (side == RIGHT || side == BOTH) {
+                    world.spawnRocket(width, random.nextInt(height - 50) + 25, 180, speed, hp);
+                    rockets++;
+                }
+            }
+        }
+        spawned++;
+        return rockets;
+    }
+
+    /**
+     * Spawns rockets that each enter from a random side, heading across the screen within 30 degrees
+     * of straight on. This is the RANDOM side of a wave, also used by the stress test.
+     *
+     * @param world The world to spawn into.
+     * @param count The number of rockets.
+     * @param speed The speed of the rockets.
+     * @param hp    The HP of the rockets.
+     * @return The number of rockets spawned.
+     */
+    public static int spawnRandom(GameWorld world, int count, float speed, double hp) {
+        GameRandom random = world.getRandom();
+        int width = world.getWidth();
+        int height = world.getHeight();
+        for (int i = 0; i < count; i++) {
+            boolean left = random.nextInt(2) == 0;
+            int y = random.nextInt(height - 50) + 25;
+            int angle = ((left ? 0 : 180) + random.nextInt(61) - 30 + 360) % 360;
+            world.spawnRocket(left ? 0 : width, y, angle, speed, hp);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether the wave spawns again after its last spawn.
+     *
+     * @return true if the wave repeats.
+     */
+    boolean repeats() {
+        return every > 0 && (times == 0 || spawned < times);
+    }
+
+    /**
+     * Gets the delay before the first spawn.
+     *
+     * @return The delay in ticks.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the ticks between spawns.
+     *
+     * @return The period in ticks, 0 if the wave spawns once.
+     */
+    public int getEvery() {
+        return every;
+    }
+
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(start);
+        out.writeByte(side);
+        out.writeInt(count);
+        out.writeInt(every);
+        out.writeInt(times);
+        out.writeFloat(speed);
+        out.writeDouble(hp);
+        out.writeInt(spawned);
+    }
+
+    static Wave readState(DataInput in) throws IOException {
+        Wave wave = new Wave(in.readLong(), in.readByte(), in.readInt(), in.readInt(), in.readInt(),
+                in.readFloat(), in.readDouble());
+        wave.spawned = in.readInt();
+        return wave;
+    }
+}
@@ -0,0 +1,167 @@
+package game.wave;
+
+import game.component.GameWorld;
+import game.jfr.RocketSpawnEvent;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The WaveScheduler class spawns the rocket waves of a game from simulation ticks.
+ * Pending spawns are kept in a TimerWheel, so any number of delayed and repeating waves cost O(1)
+ * to schedule and to expire. The scheduler only advances while the world ticks it: the world stops
+ * ticking it while the player is dead, which pauses the waves, and a speed above 1 advances several
+ * wave ticks per simulation tick.
+ *
+ * {@link #restart()} cancels every pending spawn and schedules the script from the beginning.
+ */
+public class WaveScheduler {
+
+    private final TimerWheel<Wave> wheel = new TimerWheel<>();
+    private final List<Wave> script; // Waves scheduled by restart()
+    private final List<TimerWheel.Timer<Wave>> pending = new ArrayList<>(); // Reused by writeState
+    private int speed = 1; // Wave ticks per simulation tick
+
+    /**
+     * Constructor to create a scheduler for a wave script. Call {@link #restart()} to start it.
+     *
+     * @param script The waves to schedule on every restart.
+     */
+    public WaveScheduler(List<Wave> script) {
+        this.script = new ArrayList<>(script);
+    }
+
+    /**
+     * Cancels every pending spawn and schedules the script from the beginning.
+     */
+    public void restart() {
+        wheel.clear();
+        for (Wave wave : script) {
+            schedule(wave.copy(), wave.getStart());
+        }
+    }
+
+    /**
+     * Schedules a wave in addition to the script.
+     *
+     * @param wave  The wave, not scheduled yet.
+     * @param delay The ticks before its first spawn.
+     */
+    public void schedule(Wave wave, long delay) {
+        wave.timer = wheel.schedule(wave, delay);
+    }
+
+    /**
+     * Cancels the next spawn of a wave, and with it all its repeats.
+     *
+     * @param wave The wave.
+     */
+    public void cancel(Wave wave) {
+        if (wave.timer != null) {
+            wheel.cancel(wave.timer);
+            wave.timer = null;
+        }
+    }
+
+    /**
+     * Advances the waves by one simulation tick and spawns the ones that are due.
+     *
+     * @param world The world to spawn into.
+     */
+    public void tick(GameWorld world) {
+        for (int i = 0; i < speed; i++) {
+            wheel.advance();
+            TimerWheel.Timer<Wave> timer;
+            while ((timer = wheel.poll()) != null) {
+                spawn(world, timer.getItem());
+            }
+        }
+    }
+
+    private void spawn(GameWorld world, Wave wave) {
+        RocketSpawnEvent event = new RocketSpawnEvent();
+        event.begin();
+        int spawned = wave.spawn(world);
+        wave.timer = null;
+        if (wave.repeats()) {
+            schedule(wave, wave.getEvery());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.spawned = spawned;
+            event.alive = world.getRockets().size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Sets how many wave ticks pass per simulation tick.
+     *
+     * @param speed The speed, at least 1.
+     */
+    public void setSpeed(int speed) {
+        if (speed < 1) {
+            throw new IllegalArgumentException("speed must be at least 1");
+        }
+        this.speed = speed;
+    }
+
+    /**
+     * Gets how many wave ticks pass per simulation tick.
+     *
+     * @return The speed.
+     */
+    public int getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Gets the number of pending spawns.
+     *
+     * @return The pending spawn count.
+     */
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Writes the wave clock and every pending spawn.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        pending.clear();
+        wheel.getPending(pending);
+        out.writeLong(wheel.getTime());
+        out.writeLong(wheel.getNextSequence());
+        out.writeInt(speed);
+        out.writeInt(pending.size());
+        for (TimerWheel.Timer<Wave> timer : pending) {
+            out.writeLong(timer.getDeadline());
+            out.writeLong(timer.getSequence());
+            timer.getItem().writeState(out);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Replaces the pending spawns with the ones written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The input to read from.
+     * @throws IOException If the input cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        wheel.reset(in.readLong(), in.readLong());
+        speed = in.readInt();
+        for (int i = in.readInt(); i > 0; i--) {
+            long deadline = in.readLong();
+            long sequence = in.readLong();
+            Wave wave = Wave.readState(in);
+            wave.timer = wheel.scheduleAt(wave, deadline, sequence);
+        }
+    }
+}